@@ -0,0 +1,44 @@
+plugins {
+    application
+}
+
+group = "org.sinytra.adapter"
+version = "1.0-SNAPSHOT"
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+application {
+    mainClass.set("org.sinytra.adapter.aot.AdapterAOT")
+}
+
+repositories {
+    mavenCentral()
+    maven {
+        name = "Minecraft"
+        url = uri("https://libraries.minecraft.net")
+    }
+    maven {
+        name = "FabricMC"
+        url = uri("https://maven.fabricmc.net")
+    }
+}
+
+dependencies {
+    implementation(group = "org.sinytra.adapter", name = "definition")
+    implementation(group = "net.fabricmc", name = "sponge-mixin", version = "0.12.5+mixin.0.8.5")
+    implementation(group = "org.slf4j", "slf4j-api", "2.0.0")
+    compileOnly(group = "org.jetbrains", name = "annotations", version = "24.0.1")
+    runtimeOnly(group = "org.slf4j", "slf4j-simple", "2.0.0")
+
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.assertj:assertj-core:3.25.1")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -0,0 +1,3 @@
+rootProject.name = "aot"
+
+includeBuild("../definition")
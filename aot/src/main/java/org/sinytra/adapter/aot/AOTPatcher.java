@@ -0,0 +1,305 @@
+package org.sinytra.adapter.aot;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.serialization.JsonOps;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.ClassChanges;
+import org.sinytra.adapter.patch.LVTOffsets;
+import org.sinytra.adapter.patch.MethodFingerprints;
+import org.sinytra.adapter.patch.MixinClassGeneratorImpl;
+import org.sinytra.adapter.patch.PatchEnvironmentImpl;
+import org.sinytra.adapter.patch.PatchIndex;
+import org.sinytra.adapter.patch.PatchMetrics;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+import org.sinytra.adapter.patch.api.MixinClassGenerator;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+import org.sinytra.adapter.patch.serialization.PatchSerialization;
+import org.sinytra.adapter.patch.transformer.dynamic.*;
+import org.sinytra.adapter.patch.util.AOTManifest;
+import org.sinytra.adapter.patch.util.IncrementalClassWriter;
+import org.sinytra.adapter.patch.util.provider.ClassLookup;
+import org.sinytra.adapter.patch.util.provider.ZipClassLookup;
+import org.spongepowered.asm.mixin.FabricUtil;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Applies adapter patches to the mixin classes of a mod jar ahead of time, producing a jar that no longer needs
+ * to be patched at runtime. Mod jars are expected to already be remapped to the runtime namespace.
+ */
+public class AOTPatcher implements Closeable {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private final ZipFile cleanJar;
+    private final ZipFile dirtyJar;
+    private final List<ZipFile> libraries;
+    private final ClassLookup cleanLookup;
+    private final ClassLookup dirtyLookup;
+    private final List<ClassLookup> libraryLookups;
+    private final PatchIndex patches;
+    private final ExecutorService executor;
+    @Nullable
+    private final MethodFingerprints methodFingerprints;
+    @Nullable
+    private final String dataVersion;
+    @Nullable
+    private final String inputsKey;
+
+    /**
+     * @param libraries  other jars visible to the mod, such as other mods, looked up after the mod's own classes
+     * @param inputsKey  key of all patcher inputs computed by {@link AOTManifest#inputsKey}, the output jar is only
+     *                   stamped for use as a runtime cache when both it and the data version are present
+     */
+    public AOTPatcher(ZipFile cleanJar, ZipFile dirtyJar, List<ZipFile> libraries, List<Patch> patches, @Nullable MethodFingerprints methodFingerprints, int threads, @Nullable String dataVersion, @Nullable String inputsKey) {
+        this.cleanJar = cleanJar;
+        this.dirtyJar = dirtyJar;
+        this.libraries = libraries;
+        this.cleanLookup = new ZipClassLookup(cleanJar);
+        this.dirtyLookup = new ZipClassLookup(dirtyJar);
+        this.libraryLookups = libraries.stream().<ClassLookup>map(ZipClassLookup::new).toList();
+        this.patches = PatchIndex.create(patches);
+        this.methodFingerprints = methodFingerprints;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.dataVersion = dataVersion;
+        this.inputsKey = inputsKey;
+    }
+
+    public static AOTPatcher create(Path cleanJar, Path dirtyJar, Path patchData, Path lvtOffsets, @Nullable Path methodFingerprints, List<Path> libraries, int threads, @Nullable String dataVersion) throws IOException {
+        List<Patch> patches = new ArrayList<>(PatchSerialization.deserialize(readJson(patchData), JsonOps.INSTANCE));
+        LVTOffsets offsets = LVTOffsets.fromJson(readJson(lvtOffsets));
+        patches.addAll(createDynamicPatches(offsets));
+        MethodFingerprints fingerprints = methodFingerprints != null ? MethodFingerprints.fromJson(readJson(methodFingerprints)) : null;
+        // Patching runs without a bytecode fixer upper, so field type fixes are never applied
+        String inputsKey = AOTManifest.inputsKey(cleanJar, dirtyJar, patchData, lvtOffsets, methodFingerprints, libraries, false);
+        List<ZipFile> libraryJars = new ArrayList<>();
+        for (Path library : libraries) {
+            libraryJars.add(new ZipFile(library.toFile()));
+        }
+        return new AOTPatcher(new ZipFile(cleanJar.toFile()), new ZipFile(dirtyJar.toFile()), List.copyOf(libraryJars), List.copyOf(patches), fingerprints, threads, dataVersion, inputsKey);
+    }
+
+    // Patches applied at runtime regardless of the generated patch data
+    public static List<Patch> createDynamicPatches(LVTOffsets offsets) {
+        return List.of(
+            Patch.builder().transform(new DynamicAnonymousShadowFieldTypePatch()).build(),
+            Patch.builder().transform(new DynamicInheritedInjectionPointPatch()).build(),
+            Patch.builder().transform(new DynamicInjectorOrdinalPatch()).build(),
+            Patch.builder().transform(new DynamicLVTPatch(() -> offsets)).build(),
+            Patch.builder().transform(new DynamicModifyVarAtReturnPatch()).build(),
+            Patch.builder().transform(new DynamicSyntheticInstanceofPatch()).build()
+        );
+    }
+
+    /**
+     * {@return method transform counts of all patches applied by this patcher so far}
+     */
+    public PatchMetrics getMetrics() {
+        return PatchMetrics.collect(this.patches.getPatches());
+    }
+
+    /**
+     * Patches a mod jar. When the output is a directory, the patched jar is written using the runtime cache layout.
+     */
+    public Result patch(Path input, Path output) throws IOException {
+        long start = System.currentTimeMillis();
+        String sourceKey = AOTManifest.sourceKey(input);
+        if (Files.isDirectory(output)) {
+            output = output.resolve(AOTManifest.cacheFileName(sourceKey));
+        }
+        try (ZipFile modJar = new ZipFile(input.toFile())) {
+            ModMixinConfigs configs = ModMixinConfigs.read(modJar);
+            JarRefmapHolder refmapHolder = JarRefmapHolder.read(modJar, configs);
+            ClassLookup modLookup = new ZipClassLookup(modJar);
+            // Mod classes take precedence, matching the runtime class lookup
+            ClassLookup lookup = name -> modLookup.getClass(name).or(() -> findLibraryClass(name)).or(() -> this.dirtyLookup.getClass(name));
+            MixinClassGeneratorImpl generator = new MixinClassGeneratorImpl(lookup);
+            PatchEnvironment environment = new PatchEnvironmentImpl(refmapHolder, this.cleanLookup, lookup, null, generator, new InheritanceHandler(lookup), FabricUtil.COMPATIBILITY_LATEST, this.methodFingerprints);
+
+            // Patch all mixin classes in parallel before writing, as patches may modify refmaps and generate classes
+            Map<String, CompletableFuture<byte[]>> patchedClasses = new HashMap<>();
+            modJar.stream()
+                .filter(entry -> entry.getName().endsWith(".class") && configs.isMixinClass(getClassName(entry)))
+                .forEach(entry -> patchedClasses.put(entry.getName(), CompletableFuture.supplyAsync(() -> patchClass(modJar, entry, environment), this.executor)));
+            try {
+                CompletableFuture.allOf(patchedClasses.values().toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                // A partially patched jar must never be mistaken for a valid result
+                throw new IllegalStateException("Failed to patch mod jar " + input, e.getCause());
+            }
+
+            Map<String, byte[]> modifiedResources = new HashMap<>();
+            refmapHolder.getModifiedRefmaps().forEach((path, json) -> modifiedResources.put(path, toBytes(json)));
+            Map<String, MixinClassGenerator.GeneratedClass> generatedClasses = generator.getGeneratedMixinClasses();
+            for (MixinClassGenerator.GeneratedClass generated : generatedClasses.values()) {
+                ModMixinConfigs.Config config = configs.getMixinConfig(generated.originalName());
+                if (config == null) {
+                    throw new IllegalStateException("Missing mixin config for class " + generated.originalName());
+                }
+                config.addMixin(generated.generatedName());
+                modifiedResources.put(config.path(), toBytes(config.json()));
+            }
+            boolean hasManifest = modJar.getEntry(JarFile.MANIFEST_NAME) != null;
+            if (this.dataVersion != null && this.inputsKey != null) {
+                modifiedResources.put(JarFile.MANIFEST_NAME, createManifest(modJar, sourceKey, this.dataVersion, this.inputsKey));
+            }
+
+            int patched = 0;
+            // Only move the jar into place once it has been fully written
+            Path tempOutput = output.resolveSibling(output.getFileName() + ".tmp");
+            try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(tempOutput)))) {
+                if (!hasManifest && modifiedResources.containsKey(JarFile.MANIFEST_NAME)) {
+                    writeEntry(zos, new ZipEntry(JarFile.MANIFEST_NAME), modifiedResources.get(JarFile.MANIFEST_NAME));
+                }
+                for (Enumeration<? extends ZipEntry> entries = modJar.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry entry = entries.nextElement();
+                    CompletableFuture<byte[]> future = patchedClasses.get(entry.getName());
+                    byte[] bytes = future != null ? future.join() : modifiedResources.get(entry.getName());
+                    if (bytes != null) {
+                        if (future != null) {
+                            patched++;
+                        }
+                        writeEntry(zos, entry, bytes);
+                    } else {
+                        // Copy unmodified entries as-is
+                        zos.putNextEntry(copyEntry(entry));
+                        try (InputStream is = modJar.getInputStream(entry)) {
+                            is.transferTo(zos);
+                        }
+                        zos.closeEntry();
+                    }
+                }
+                for (MixinClassGenerator.GeneratedClass generated : generatedClasses.values()) {
+                    ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+                    generated.node().accept(writer);
+                    writeEntry(zos, new ZipEntry(generated.generatedName() + ".class"), writer.toByteArray());
+                }
+            } catch (Throwable t) {
+                Files.deleteIfExists(tempOutput);
+                throw t;
+            }
+            Files.move(tempOutput, output, StandardCopyOption.REPLACE_EXISTING);
+            return new Result(output, patchedClasses.size(), patched, generatedClasses.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    @Nullable
+    private byte[] patchClass(ZipFile zipFile, ZipEntry entry, PatchEnvironment environment) {
+        try {
+            ClassReader reader;
+            try (InputStream is = zipFile.getInputStream(entry)) {
+                reader = new ClassReader(is);
+            }
+            ClassNode node = new ClassNode();
+            reader.accept(node, 0);
+
+            ClassChanges changes = ClassChanges.create(node);
+            Patch.Result result = this.patches.apply(node, environment, changes);
+            if (result == Patch.Result.PASS) {
+                return null;
+            }
+            return IncrementalClassWriter.write(reader, node, changes, environment.inheritanceHandler());
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error patching mixin class " + entry.getName(), t);
+        }
+    }
+
+    private Optional<ClassNode> findLibraryClass(String name) {
+        for (ClassLookup lookup : this.libraryLookups) {
+            Optional<ClassNode> node = lookup.getClass(name);
+            if (node.isPresent()) {
+                return node;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.executor.shutdown();
+        this.cleanJar.close();
+        this.dirtyJar.close();
+        for (ZipFile library : this.libraries) {
+            library.close();
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zos, ZipEntry entry, byte[] bytes) throws IOException {
+        ZipEntry newEntry = new ZipEntry(entry.getName());
+        if (entry.getTime() != -1) {
+            newEntry.setTime(entry.getTime());
+        }
+        zos.putNextEntry(newEntry);
+        zos.write(bytes);
+        zos.closeEntry();
+    }
+
+    private static ZipEntry copyEntry(ZipEntry entry) {
+        ZipEntry newEntry = new ZipEntry(entry.getName());
+        newEntry.setTime(entry.getTime());
+        if (entry.getComment() != null) {
+            newEntry.setComment(entry.getComment());
+        }
+        if (entry.getExtra() != null) {
+            newEntry.setExtra(entry.getExtra());
+        }
+        return newEntry;
+    }
+
+    private static String getClassName(ZipEntry entry) {
+        String name = entry.getName();
+        return name.substring(0, name.length() - ".class".length());
+    }
+
+    private static byte[] createManifest(ZipFile zipFile, String sourceKey, String dataVersion, String inputsKey) throws IOException {
+        Manifest manifest = new Manifest();
+        ZipEntry entry = zipFile.getEntry(JarFile.MANIFEST_NAME);
+        if (entry != null) {
+            try (InputStream is = zipFile.getInputStream(entry)) {
+                manifest.read(is);
+            }
+        }
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.putIfAbsent(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue(AOTManifest.SOURCE_KEY_ATTRIBUTE, sourceKey);
+        attributes.putValue(AOTManifest.DATA_VERSION_ATTRIBUTE, dataVersion);
+        attributes.putValue(AOTManifest.INPUTS_KEY_ATTRIBUTE, inputsKey);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        manifest.write(bos);
+        return bos.toByteArray();
+    }
+
+    private static byte[] toBytes(JsonObject json) {
+        return GSON.toJson(json).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static JsonElement readJson(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            return JsonParser.parseReader(reader);
+        }
+    }
+
+    public record Result(Path output, int mixinClasses, int patchedClasses, int generatedClasses, long timeMillis) {}
+}
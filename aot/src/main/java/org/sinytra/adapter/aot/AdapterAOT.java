@@ -0,0 +1,68 @@
+package org.sinytra.adapter.aot;
+
+import org.sinytra.adapter.patch.PatchMetrics;
+import org.sinytra.adapter.patch.audit.JsonlPatchAuditSink;
+import org.sinytra.adapter.patch.audit.PatchAudit;
+import org.sinytra.adapter.patch.audit.PatchAuditSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line entry point of the ahead-of-time patcher.
+ */
+public final class AdapterAOT {
+    private static final Logger LOGGER = LoggerFactory.getLogger("AdapterAOT");
+    private static final List<String> REQUIRED_OPTIONS = List.of("input", "output", "clean", "dirty", "patch-data", "lvt-offsets");
+    private static final String USAGE = "Usage: --input <mod.jar> --output <patched.jar or cache dir> --clean <clean.jar> --dirty <dirty.jar> --patch-data <patch_data.json> --lvt-offsets <lvt_offsets.json> [--method-fingerprints <method_fingerprints.json>] [--libraries <other jars separated by the path separator>] [--data-version <version>] [--threads <count>] [--audit-journal <audit.jsonl>]";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        if (options == null || !options.keySet().containsAll(REQUIRED_OPTIONS)) {
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        int threads = options.containsKey("threads") ? Integer.parseInt(options.get("threads")) : Runtime.getRuntime().availableProcessors();
+
+        Path methodFingerprints = options.containsKey("method-fingerprints") ? Path.of(options.get("method-fingerprints")) : null;
+        List<Path> libraries = options.containsKey("libraries") ? Arrays.stream(options.get("libraries").split(File.pathSeparator)).map(Path::of).toList() : List.of();
+
+        if (options.containsKey("audit-journal")) {
+            PatchAudit.setSink(new JsonlPatchAuditSink(Path.of(options.get("audit-journal"))));
+        }
+        try (AOTPatcher patcher = AOTPatcher.create(Path.of(options.get("clean")), Path.of(options.get("dirty")), Path.of(options.get("patch-data")), Path.of(options.get("lvt-offsets")), methodFingerprints, libraries, threads, options.get("data-version"))) {
+            AOTPatcher.Result result = patcher.patch(Path.of(options.get("input")), Path.of(options.get("output")));
+            LOGGER.info("Patched {} out of {} mixin classes, generated {} classes in {} ms", result.patchedClasses(), result.mixinClasses(), result.generatedClasses(), result.timeMillis());
+            LOGGER.info("Wrote patched jar to {}", result.output());
+            PatchMetrics metrics = patcher.getMetrics();
+            metrics.invocationCounts().forEach((transform, invoked) -> LOGGER.info("Transform {} applied {} times, skipped {} times", transform, invoked, metrics.skipCounts().getOrDefault(transform, 0L)));
+        } finally {
+            // Closes the journal once pending events are written
+            PatchAudit.setSink(PatchAuditSink.NOOP);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        if (args.length % 2 != 0) {
+            return null;
+        }
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                return null;
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private AdapterAOT() {}
+}
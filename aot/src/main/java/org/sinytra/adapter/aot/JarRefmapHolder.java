@@ -0,0 +1,87 @@
+package org.sinytra.adapter.aot;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.sinytra.adapter.patch.api.RefmapHolder;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.zip.ZipFile;
+
+/**
+ * Reference maps of all mixin configs in a mod jar. Entries copied between mixin classes are written back to
+ * the refmap of the source class.
+ */
+public class JarRefmapHolder implements RefmapHolder {
+    private static final String MAPPINGS = "mappings";
+    private static final String DATA = "data";
+
+    private final Map<String, JsonObject> refmaps = new LinkedHashMap<>();
+    private final Map<String, String> classRefmaps = new HashMap<>();
+    private final Set<String> modifiedRefmaps = new HashSet<>();
+
+    public static JarRefmapHolder read(ZipFile zipFile, ModMixinConfigs configs) throws IOException {
+        JarRefmapHolder holder = new JarRefmapHolder();
+        for (ModMixinConfigs.Config config : configs.getConfigs()) {
+            String path = config.refmap();
+            if (path == null || holder.refmaps.containsKey(path)) {
+                continue;
+            }
+            JsonObject json = ModMixinConfigs.readJson(zipFile, path);
+            if (json != null) {
+                holder.refmaps.put(path, json);
+                if (json.get(MAPPINGS) instanceof JsonObject mappings) {
+                    mappings.keySet().forEach(cls -> holder.classRefmaps.put(cls, path));
+                }
+            }
+        }
+        return holder;
+    }
+
+    @Override
+    public synchronized String remap(String cls, String reference) {
+        String path = this.classRefmaps.get(cls);
+        if (path != null && this.refmaps.get(path).get(MAPPINGS) instanceof JsonObject mappings && mappings.get(cls) instanceof JsonObject classMappings) {
+            JsonElement mapped = classMappings.get(reference);
+            if (mapped != null) {
+                return mapped.getAsString();
+            }
+        }
+        return reference;
+    }
+
+    @Override
+    public synchronized void copyEntries(String from, String to) {
+        String path = this.classRefmaps.get(from);
+        if (path == null) {
+            return;
+        }
+        JsonObject refmap = this.refmaps.get(path);
+        if (refmap.get(MAPPINGS) instanceof JsonObject mappings) {
+            copyClassEntries(mappings, from, to);
+        }
+        if (refmap.get(DATA) instanceof JsonObject data) {
+            for (String namespace : data.keySet()) {
+                if (data.get(namespace) instanceof JsonObject mappings) {
+                    copyClassEntries(mappings, from, to);
+                }
+            }
+        }
+        this.classRefmaps.put(to, path);
+        this.modifiedRefmaps.add(path);
+    }
+
+    public synchronized Map<String, JsonObject> getModifiedRefmaps() {
+        Map<String, JsonObject> map = new HashMap<>();
+        this.modifiedRefmaps.forEach(path -> map.put(path, this.refmaps.get(path)));
+        return map;
+    }
+
+    private static void copyClassEntries(JsonObject mappings, String from, String to) {
+        if (mappings.get(from) instanceof JsonObject source) {
+            JsonObject target = mappings.get(to) instanceof JsonObject obj ? obj : new JsonObject();
+            source.entrySet().forEach(entry -> target.add(entry.getKey(), entry.getValue()));
+            mappings.add(to, target);
+        }
+    }
+}
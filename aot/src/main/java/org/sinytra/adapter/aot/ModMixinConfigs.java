@@ -0,0 +1,118 @@
+package org.sinytra.adapter.aot;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Mixin configs declared in a mod jar's manifest, along with the mixin classes they list.
+ */
+public class ModMixinConfigs {
+    private static final String MIXIN_CONFIGS_ATTRIBUTE = "MixinConfigs";
+    private static final List<String> MIXIN_LISTS = List.of("mixins", "client", "server");
+
+    private final Map<String, Config> configs;
+    private final Map<String, Config> mixinClasses = new HashMap<>();
+
+    private ModMixinConfigs(Map<String, Config> configs) {
+        this.configs = configs;
+        for (Config config : configs.values()) {
+            for (String mixin : config.mixinClasses()) {
+                this.mixinClasses.put(mixin, config);
+            }
+        }
+    }
+
+    public static ModMixinConfigs read(ZipFile zipFile) throws IOException {
+        Map<String, Config> configs = new LinkedHashMap<>();
+        for (String path : getConfigPaths(zipFile)) {
+            JsonObject json = readJson(zipFile, path);
+            if (json == null) {
+                continue;
+            }
+            String pkg = json.has("package") ? json.get("package").getAsString().replace('.', '/') : "";
+            String refmap = json.has("refmap") ? json.get("refmap").getAsString() : null;
+            List<String> mixins = new ArrayList<>();
+            for (String list : MIXIN_LISTS) {
+                if (json.get(list) instanceof JsonArray array) {
+                    for (JsonElement element : array) {
+                        mixins.add(pkg + "/" + element.getAsString().replace('.', '/'));
+                    }
+                }
+            }
+            configs.put(path, new Config(path, json, pkg, List.copyOf(mixins), refmap));
+        }
+        return new ModMixinConfigs(configs);
+    }
+
+    public Collection<Config> getConfigs() {
+        return this.configs.values();
+    }
+
+    @Nullable
+    public Config getConfig(String path) {
+        return this.configs.get(path);
+    }
+
+    public boolean isMixinClass(String name) {
+        return this.mixinClasses.containsKey(name);
+    }
+
+    @Nullable
+    public Config getMixinConfig(String mixinClass) {
+        return this.mixinClasses.get(mixinClass);
+    }
+
+    @Nullable
+    static JsonObject readJson(ZipFile zipFile, String path) throws IOException {
+        ZipEntry entry = zipFile.getEntry(path);
+        if (entry == null) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(zipFile.getInputStream(entry), StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        }
+    }
+
+    private static List<String> getConfigPaths(ZipFile zipFile) throws IOException {
+        ZipEntry entry = zipFile.getEntry(JarFile.MANIFEST_NAME);
+        if (entry == null) {
+            return List.of();
+        }
+        Manifest manifest;
+        try (InputStream is = zipFile.getInputStream(entry)) {
+            manifest = new Manifest(is);
+        }
+        String value = manifest.getMainAttributes().getValue(MIXIN_CONFIGS_ATTRIBUTE);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .toList();
+    }
+
+    public record Config(String path, JsonObject json, String pkg, List<String> mixinClasses, @Nullable String refmap) {
+        // Registers a generated mixin class, which always resides in the config's package
+        public void addMixin(String className) {
+            String name = className.substring(this.pkg.length() + 1).replace('/', '.');
+            JsonArray mixins = this.json.get("mixins") instanceof JsonArray array ? array : new JsonArray();
+            mixins.add(name);
+            this.json.add("mixins", mixins);
+        }
+    }
+}
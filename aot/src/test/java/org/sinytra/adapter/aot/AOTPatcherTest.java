@@ -0,0 +1,196 @@
+package org.sinytra.adapter.aot;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.util.AOTManifest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AOTPatcherTest {
+    private static final String TARGET = "com/example/Target";
+    private static final String MIXIN = "com/example/mixin/TargetMixin";
+    private static final String GENERATED = "com/example/mixin/adapter_generated_Target";
+    private static final String CONFIG = "example.mixins.json";
+    private static final String REFMAP = "example.refmap.json";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPatchModJar() throws IOException {
+        Path gameJar = writeJar("game.jar", Map.of(TARGET + ".class", toBytes(createTarget())));
+        Path modJar = writeJar("mod.jar", createModEntries());
+
+        AOTPatcher.Result result;
+        try (AOTPatcher patcher = createPatcher(gameJar)) {
+            result = patcher.patch(modJar, this.tempDir.resolve("patched.jar"));
+        }
+        assertThat(result.mixinClasses()).isEqualTo(1);
+        assertThat(result.patchedClasses()).isEqualTo(1);
+        assertThat(result.generatedClasses()).isEqualTo(1);
+
+        try (ZipFile output = new ZipFile(result.output().toFile())) {
+            // The injector is moved to a generated mixin class
+            ClassNode mixin = readClass(output, MIXIN);
+            assertThat(mixin.methods).extracting(m -> m.name).doesNotContain("injectTick");
+            ClassNode generated = readClass(output, GENERATED);
+            assertThat(generated.methods).extracting(m -> m.name).contains("injectTick");
+            assertThat(generated.invisibleAnnotations).extracting(a -> a.desc).containsExactly(MixinConstants.MIXIN);
+
+            JsonObject config = readJson(output, CONFIG);
+            assertThat(config.getAsJsonArray("mixins")).extracting(e -> e.getAsString()).containsExactly("TargetMixin", "adapter_generated_Target");
+
+            JsonObject mappings = readJson(output, REFMAP).getAsJsonObject("mappings");
+            assertThat(mappings.getAsJsonObject(GENERATED)).isEqualTo(mappings.getAsJsonObject(MIXIN));
+
+            Attributes attributes = readManifest(output).getMainAttributes();
+            assertThat(attributes.getValue("MixinConfigs")).isEqualTo(CONFIG);
+            assertThat(attributes.getValue(AOTManifest.SOURCE_KEY_ATTRIBUTE)).isEqualTo(AOTManifest.sourceKey(modJar));
+            assertThat(attributes.getValue(AOTManifest.DATA_VERSION_ATTRIBUTE)).isEqualTo("1.0.0");
+            assertThat(attributes.getValue(AOTManifest.INPUTS_KEY_ATTRIBUTE)).isEqualTo("inputs");
+
+            // Unrelated resources are copied as-is
+            try (InputStream is = output.getInputStream(output.getEntry("assets/example/lang.json"))) {
+                assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{}");
+            }
+        }
+    }
+
+    @Test
+    void testPatchIntoCacheDirectory() throws IOException {
+        Path gameJar = writeJar("game.jar", Map.of(TARGET + ".class", toBytes(createTarget())));
+        Path modJar = writeJar("mod.jar", createModEntries());
+        Path cacheDir = Files.createDirectory(this.tempDir.resolve("cache"));
+
+        try (AOTPatcher patcher = createPatcher(gameJar)) {
+            AOTPatcher.Result result = patcher.patch(modJar, cacheDir);
+            assertThat(result.output()).isEqualTo(cacheDir.resolve(AOTManifest.cacheFileName(AOTManifest.sourceKey(modJar))));
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            // The temporary output is moved into place
+            assertThat(files.map(p -> p.getFileName().toString())).containsExactly(AOTManifest.cacheFileName(AOTManifest.sourceKey(modJar)));
+        }
+    }
+
+    private static AOTPatcher createPatcher(Path gameJar) throws IOException {
+        Patch patch = Patch.builder().targetClass(TARGET).targetMixinType(MixinConstants.INJECT).extractMixin(TARGET).build();
+        return new AOTPatcher(new ZipFile(gameJar.toFile()), new ZipFile(gameJar.toFile()), List.of(), List.of(patch), null, 2, "1.0.0", "inputs");
+    }
+
+    private static Map<String, byte[]> createModEntries() throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("MixinConfigs", CONFIG);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        manifest.write(bos);
+        entries.put(JarFile.MANIFEST_NAME, bos.toByteArray());
+        entries.put(CONFIG, """
+            {"package": "com.example.mixin", "refmap": "%s", "mixins": ["TargetMixin"]}
+            """.formatted(REFMAP).getBytes(StandardCharsets.UTF_8));
+        entries.put(REFMAP, """
+            {"mappings": {"%s": {"tick()V": "L%s;tick()V"}}}
+            """.formatted(MIXIN, TARGET).getBytes(StandardCharsets.UTF_8));
+        entries.put(MIXIN + ".class", toBytes(createMixin()));
+        entries.put("assets/example/lang.json", "{}".getBytes(StandardCharsets.UTF_8));
+        return entries;
+    }
+
+    private static ClassNode createTarget() {
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, TARGET, null, "java/lang/Object", null);
+        MethodNode tick = new MethodNode(Opcodes.ACC_PUBLIC, "tick", "()V", null, null);
+        tick.instructions.add(new InsnNode(Opcodes.RETURN));
+        node.methods.add(tick);
+        return node;
+    }
+
+    private static ClassNode createMixin() {
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, MIXIN, null, "java/lang/Object", null);
+        AnnotationNode mixin = new AnnotationNode(MixinConstants.MIXIN);
+        mixin.values = new ArrayList<>(List.of("value", new ArrayList<>(List.of(Type.getObjectType(TARGET)))));
+        node.invisibleAnnotations = new ArrayList<>(List.of(mixin));
+
+        MethodNode injector = new MethodNode(Opcodes.ACC_PRIVATE, "injectTick", "(Lorg/spongepowered/asm/mixin/injection/callback/CallbackInfo;)V", null, null);
+        AnnotationNode at = new AnnotationNode(MixinConstants.AT);
+        at.values = new ArrayList<>(List.of("value", "HEAD"));
+        AnnotationNode inject = new AnnotationNode(MixinConstants.INJECT);
+        inject.values = new ArrayList<>(List.of("method", new ArrayList<>(List.of("tick()V")), "at", at));
+        injector.visibleAnnotations = new ArrayList<>(List.of(inject));
+        injector.instructions.add(new InsnNode(Opcodes.RETURN));
+        node.methods.add(injector);
+        return node;
+    }
+
+    private Path writeJar(String name, Map<String, byte[]> entries) throws IOException {
+        Path path = this.tempDir.resolve(name);
+        try (OutputStream os = Files.newOutputStream(path); ZipOutputStream zos = new ZipOutputStream(os)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey()));
+                zos.write(entry.getValue());
+                zos.closeEntry();
+            }
+        }
+        return path;
+    }
+
+    private static byte[] toBytes(ClassNode node) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        node.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private static ClassNode readClass(ZipFile zipFile, String name) throws IOException {
+        ZipEntry entry = zipFile.getEntry(name + ".class");
+        assertThat(entry).as(name).isNotNull();
+        ClassNode node = new ClassNode();
+        try (InputStream is = zipFile.getInputStream(entry)) {
+            new ClassReader(is).accept(node, 0);
+        }
+        return node;
+    }
+
+    private static JsonObject readJson(ZipFile zipFile, String path) throws IOException {
+        try (InputStream is = zipFile.getInputStream(zipFile.getEntry(path))) {
+            return JsonParser.parseString(new String(is.readAllBytes(), StandardCharsets.UTF_8)).getAsJsonObject();
+        }
+    }
+
+    private static Manifest readManifest(ZipFile zipFile) throws IOException {
+        try (InputStream is = zipFile.getInputStream(zipFile.getEntry(JarFile.MANIFEST_NAME))) {
+            return new Manifest(is);
+        }
+    }
+}
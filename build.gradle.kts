@@ -74,4 +74,9 @@ tasks {
     jar {
         from(generateAdapterData)
     }
+
+    test {
+        // Tasks of included builds are not run by the root build otherwise
+        dependsOn(gradle.includedBuild("aot").task(":test"))
+    }
 }
@@ -22,6 +22,16 @@ java {
 }
 
 val testClasses = sourceSets.create("testClasses")
+val jmh = sourceSets.create("jmh")
+
+configurations {
+    named(jmh.implementationConfigurationName) {
+        extendsFrom(configurations.implementation.get())
+    }
+    named(jmh.compileOnlyConfigurationName) {
+        extendsFrom(configurations.compileOnly.get())
+    }
+}
 
 repositories {
     mavenCentral()
@@ -56,6 +66,11 @@ dependencies {
     testImplementation("org.assertj:assertj-core:3.25.1")
 
     "testRuntimeOnly"(testClasses.output)
+
+    "jmhImplementation"(sourceSets.main.get().output)
+    "jmhImplementation"(group = "org.openjdk.jmh", name = "jmh-core", version = "1.37")
+    "jmhAnnotationProcessor"(group = "org.openjdk.jmh", name = "jmh-generator-annprocess", version = "1.37")
+    "jmhRuntimeOnly"(testClasses.output)
 }
 
 tasks {
@@ -78,6 +93,30 @@ tasks {
     named("testClasses") {
         dependsOn("compileTestClassesJava")
     }
+
+    // Benchmarks are not run as part of the build, but must keep compiling against the patch engine
+    named("check") {
+        dependsOn("compileJmhJava")
+    }
+
+    // Pass JMH options with -PjmhArgs, e.g. -PjmhArgs="PatchApplyBenchmark -p patchCount=1000"
+    register("jmh", JavaExec::class.java) {
+        group = "benchmark"
+        description = "Runs the patch engine benchmarks"
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        args((findProperty("jmhArgs") as String?)?.split(" ")?.filter(String::isNotEmpty) ?: listOf<String>())
+    }
+
+    // Pass the seed and mixin counts with -PscalingArgs, e.g. -PscalingArgs="42 100,1000,50000"
+    register("scalingHarness", JavaExec::class.java) {
+        group = "benchmark"
+        description = "Patches synthetic workloads of increasing size"
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.sinytra.adapter.patch.benchmark.ScalingHarness")
+        maxHeapSize = "4G"
+        args((findProperty("scalingArgs") as String?)?.split(" ")?.filter(String::isNotEmpty) ?: listOf<String>())
+    }
 }
 
 publishing {
@@ -0,0 +1,41 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.openjdk.jmh.annotations.*;
+import org.sinytra.adapter.patch.analysis.MethodCallAnalyzer;
+import org.sinytra.adapter.patch.analysis.params.EnhancedParamsDiff;
+import org.sinytra.adapter.patch.analysis.params.LayeredParamsDiffSnapshot;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisBenchmark {
+    private MethodNode cleanMethod;
+    private MethodNode dirtyMethod;
+
+    @Setup
+    public void setup() {
+        ClassNode mixin = BenchmarkFixtures.loadClass(BenchmarkFixtures.SWAP_MIXIN);
+        // The expected method is the result of swapping the parameters of the original
+        this.cleanMethod = BenchmarkFixtures.getMethod(mixin, "testComplexSwapExpected");
+        this.dirtyMethod = BenchmarkFixtures.getMethod(mixin, "testComplexSwap");
+    }
+
+    @Benchmark
+    public LayeredParamsDiffSnapshot compareMethodParameters() {
+        return EnhancedParamsDiff.compareMethodParameters(this.cleanMethod, this.dirtyMethod);
+    }
+
+    @Benchmark
+    public List<MethodInsnNode> analyzeMethod() {
+        return MethodCallAnalyzer.analyzeMethod(this.dirtyMethod, (insn, values) -> insn);
+    }
+}
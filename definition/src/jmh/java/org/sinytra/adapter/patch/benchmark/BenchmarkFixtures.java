@@ -0,0 +1,117 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.MixinClassGeneratorImpl;
+import org.sinytra.adapter.patch.PatchEnvironmentImpl;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+import org.sinytra.adapter.patch.api.RefmapHolder;
+import org.sinytra.adapter.patch.util.provider.ClassLookup;
+import org.spongepowered.asm.mixin.FabricUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shared fixtures for benchmarks, built from the classes of the {@code testClasses} source set.
+ */
+public final class BenchmarkFixtures {
+    public static final String SWAP_MIXIN = "org/sinytra/adapter/test/mixins/ParameterSwapMixin";
+    public static final String SWAP_TARGET = "org/sinytra/adapter/test/classes/ParameterSwap";
+    public static final List<String> FIXTURE_CLASSES = List.of(
+        "org/sinytra/adapter/test/classes/ParameterInjection",
+        "org/sinytra/adapter/test/classes/ParameterInline",
+        "org/sinytra/adapter/test/classes/ParameterRemove",
+        "org/sinytra/adapter/test/classes/ParameterSubstitution",
+        SWAP_TARGET,
+        "org/sinytra/adapter/test/mixins/ParameterInjectionMixin",
+        "org/sinytra/adapter/test/mixins/ParameterInlineMixin",
+        "org/sinytra/adapter/test/mixins/ParameterRemoveMixin",
+        "org/sinytra/adapter/test/mixins/ParameterSubstitutionMixin",
+        SWAP_MIXIN
+    );
+
+    public static byte[] readClassBytes(String name) {
+        try (InputStream is = BenchmarkFixtures.class.getResourceAsStream("/" + name + ".class")) {
+            if (is == null) {
+                throw new IllegalArgumentException("Missing fixture class " + name);
+            }
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static ClassNode readClass(byte[] data) {
+        ClassNode node = new ClassNode();
+        new ClassReader(data).accept(node, 0);
+        return node;
+    }
+
+    public static ClassNode loadClass(String name) {
+        return readClass(readClassBytes(name));
+    }
+
+    public static MethodNode getMethod(ClassNode classNode, String name) {
+        return classNode.methods.stream().filter(m -> m.name.equals(name)).findFirst().orElseThrow();
+    }
+
+    public static PatchEnvironment createEnvironment() {
+        ClassLookup lookup = name -> {
+            try {
+                return Optional.of(loadClass(name));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        };
+        return createEnvironment(lookup);
+    }
+
+    public static PatchEnvironment createEnvironment(ClassLookup lookup) {
+        RefmapHolder refmapHolder = new RefmapHolder() {
+            @Override
+            public String remap(String cls, String reference) {
+                return reference;
+            }
+
+            @Override
+            public void copyEntries(String from, String to) {}
+        };
+        return new PatchEnvironmentImpl(refmapHolder, lookup, lookup, null, new MixinClassGeneratorImpl(lookup), new InheritanceHandler(lookup), FabricUtil.COMPATIBILITY_LATEST);
+    }
+
+    /**
+     * Creates a patch set of the given size containing a single patch that applies to {@link #SWAP_MIXIN}.
+     * Half of the remaining patches target other classes, the other half target other methods of the same class.
+     */
+    public static List<Patch> createPatchSet(int size) {
+        List<Patch> patches = new ArrayList<>(size);
+        patches.add(Patch.builder()
+            .targetClass(SWAP_TARGET)
+            .targetInjectionPoint("")
+            .targetMethod("injectTarget")
+            .targetMixinType(MixinConstants.INJECT)
+            .transformParams(params -> params.swap(0, 1))
+            .build());
+        for (int i = 1; i < size; i++) {
+            patches.add(Patch.builder()
+                .targetClass(i % 2 == 0 ? "net/minecraft/world/level/Dummy" + i : SWAP_TARGET)
+                .targetInjectionPoint("INVOKE", "Lnet/minecraft/world/level/Dummy;method" + i + "()V")
+                .targetMethod("method" + i)
+                .targetMixinType(MixinConstants.INJECT)
+                .transformParams(params -> params.swap(0, 1))
+                .build());
+        }
+        return patches;
+    }
+
+    private BenchmarkFixtures() {}
+}
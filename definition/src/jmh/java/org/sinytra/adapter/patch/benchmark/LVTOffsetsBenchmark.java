@@ -0,0 +1,52 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sinytra.adapter.patch.LVTOffsets;
+import org.sinytra.adapter.patch.util.MethodQualifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LVTOffsetsBenchmark {
+    private static final int CLASSES = 1000;
+    private static final int METHODS = 10;
+
+    private LVTOffsets offsets;
+
+    @Setup
+    public void setup() {
+        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = new HashMap<>();
+        for (int i = 0; i < CLASSES; i++) {
+            Map<MethodQualifier, List<LVTOffsets.Swap>> methods = new HashMap<>();
+            for (int j = 0; j < METHODS; j++) {
+                methods.put(new MethodQualifier("method" + j, "(IJLjava/lang/String;)V"), List.of(new LVTOffsets.Swap(1, 4), new LVTOffsets.Swap(2, 1), new LVTOffsets.Swap(4, 2)));
+            }
+            reorders.put("net/minecraft/world/level/Dummy" + i, methods);
+        }
+        this.offsets = new LVTOffsets(reorders);
+    }
+
+    @Benchmark
+    public void findReorderHit(Blackhole blackhole) {
+        blackhole.consume(this.offsets.findReorderIndex("net/minecraft/world/level/Dummy500", "method5", "(IJLjava/lang/String;)V", 4));
+    }
+
+    @Benchmark
+    public void findReorderMissingIndex(Blackhole blackhole) {
+        blackhole.consume(this.offsets.findReorderIndex("net/minecraft/world/level/Dummy500", "method5", "(IJLjava/lang/String;)V", 3));
+    }
+
+    @Benchmark
+    public void findReorderMissingClass(Blackhole blackhole) {
+        blackhole.consume(this.offsets.findReorderIndex("net/minecraft/world/level/Missing", "method5", "(IJLjava/lang/String;)V", 4));
+    }
+}
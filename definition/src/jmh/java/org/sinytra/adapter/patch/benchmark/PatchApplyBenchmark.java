@@ -0,0 +1,60 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.*;
+import org.sinytra.adapter.patch.PatchIndex;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchApplyBenchmark {
+    @Param({"1", "100", "1000", "10000"})
+    public int patchCount;
+
+    private byte[] mixinData;
+    private PatchEnvironment environment;
+    private List<Patch> patches;
+    private PatchIndex index;
+    private ClassNode mixinClass;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        this.mixinData = BenchmarkFixtures.readClassBytes(BenchmarkFixtures.SWAP_MIXIN);
+        this.environment = BenchmarkFixtures.createEnvironment();
+        this.patches = BenchmarkFixtures.createPatchSet(this.patchCount);
+        this.index = PatchIndex.create(this.patches);
+    }
+
+    // Patches modify the class in place
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        this.mixinClass = BenchmarkFixtures.readClass(this.mixinData);
+    }
+
+    @Benchmark
+    public Patch.Result applyEach() {
+        Patch.Result result = Patch.Result.PASS;
+        for (Patch patch : this.patches) {
+            result = result.or(patch.apply(this.mixinClass, this.environment));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Patch.Result applyAll() {
+        return Patch.applyAll(this.mixinClass, this.patches, this.environment);
+    }
+
+    @Benchmark
+    public Patch.Result applyIndexed() {
+        return this.index.apply(this.mixinClass, this.environment);
+    }
+}
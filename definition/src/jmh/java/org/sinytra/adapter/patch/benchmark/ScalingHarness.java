@@ -0,0 +1,60 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.PatchIndex;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * End-to-end scaling harness that patches synthetic workloads of increasing size, reporting throughput and peak heap.
+ * Arguments: {@code [seed] [comma separated mixin counts]}.
+ */
+public final class ScalingHarness {
+    private static final long DEFAULT_SEED = 42;
+    private static final int[] DEFAULT_MIXIN_COUNTS = {100, 1000, 5000, 10000, 25000, 50000};
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_SEED;
+        int[] mixinCounts = args.length > 1 ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray() : DEFAULT_MIXIN_COUNTS;
+
+        System.out.printf("%10s %10s %10s %12s %16s %14s%n", "mixins", "patches", "patched", "time (ms)", "classes/sec", "peak heap (MB)");
+        for (int mixinCount : mixinCounts) {
+            System.gc();
+            ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            WorkloadGenerator.Workload workload = WorkloadGenerator.generate(seed, mixinCount);
+            PatchIndex index = PatchIndex.create(workload.patches());
+            PatchEnvironment environment = BenchmarkFixtures.createEnvironment(name -> Optional.ofNullable(workload.targetClasses().get(name)));
+
+            long start = System.nanoTime();
+            int patched = 0;
+            for (byte[] data : workload.mixinClasses().values()) {
+                ClassNode node = BenchmarkFixtures.readClass(data);
+                if (index.apply(node, environment) != Patch.Result.PASS) {
+                    patched++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            double seconds = elapsed / 1_000_000_000.0;
+            System.out.printf("%10d %10d %10d %12d %16.1f %14.1f%n", mixinCount, workload.patches().size(), patched,
+                elapsed / 1_000_000, mixinCount / seconds, getPeakHeapUsage() / (1024.0 * 1024.0));
+        }
+    }
+
+    // Summed over pools, as pools reach their peaks at different times this is an upper bound
+    private static long getPeakHeapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+    }
+
+    private ScalingHarness() {}
+}
@@ -0,0 +1,46 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import com.google.gson.JsonElement;
+import com.mojang.serialization.JsonOps;
+import org.openjdk.jmh.annotations.*;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.serialization.PatchSerialization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int patchCount;
+
+    private JsonElement serialized;
+
+    @Setup
+    public void setup() {
+        List<Patch> patches = new ArrayList<>(this.patchCount);
+        for (int i = 0; i < this.patchCount; i++) {
+            // Only use serializable transforms
+            patches.add(Patch.builder()
+                .targetClass("net/minecraft/world/level/Dummy" + i)
+                .targetMethod("method" + i + "(I)V")
+                .targetInjectionPoint("INVOKE", "Lnet/minecraft/world/level/Dummy;call" + i + "()V")
+                .targetMixinType(MixinConstants.INJECT)
+                .modifyTarget("renamed" + i + "(I)V")
+                .build());
+        }
+        this.serialized = PatchSerialization.serialize(patches, JsonOps.INSTANCE);
+    }
+
+    @Benchmark
+    public List<Patch> deserialize() {
+        return PatchSerialization.deserialize(this.serialized, JsonOps.INSTANCE);
+    }
+}
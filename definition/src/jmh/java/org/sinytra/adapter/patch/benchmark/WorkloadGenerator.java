@@ -0,0 +1,189 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.*;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+
+import java.util.*;
+
+/**
+ * Deterministically generates a synthetic modpack workload from a seed. Target classes are shaped like the
+ * {@code testClasses} fixtures, and mixins use the injector annotations of {@link MixinConstants} against them.
+ */
+public final class WorkloadGenerator {
+    public static final String TARGET_PACKAGE = "net/minecraft/synthetic/";
+    public static final String MIXIN_PACKAGE = "org/sinytra/synthetic/mixin/";
+    private static final String CALLBACK_INFO = "org/spongepowered/asm/mixin/injection/callback/CallbackInfo";
+    private static final int METHODS_PER_TARGET = 8;
+    private static final int MAX_INJECTORS_PER_MIXIN = 4;
+    // Target methods covered by patch data, in percent
+    private static final int PATCHED_METHOD_RATIO = 20;
+    private static final String TARGET_DESC = "(Ljava/lang/String;I)V";
+    private static final String HELPER_DESC = "(I)I";
+
+    public record Workload(Map<String, ClassNode> targetClasses, Map<String, byte[]> mixinClasses, List<Patch> patches) {}
+
+    public static Workload generate(long seed, int mixinCount) {
+        Random random = new Random(seed);
+        int targetCount = Math.max(10, mixinCount / 10);
+
+        Map<String, ClassNode> targets = new LinkedHashMap<>();
+        for (int i = 0; i < targetCount; i++) {
+            ClassNode target = generateTarget(TARGET_PACKAGE + "Target" + i);
+            targets.put(target.name, target);
+        }
+
+        Map<String, byte[]> mixins = new LinkedHashMap<>();
+        for (int i = 0; i < mixinCount; i++) {
+            String target = TARGET_PACKAGE + "Target" + random.nextInt(targetCount);
+            ClassNode mixin = generateMixin(MIXIN_PACKAGE + "SyntheticMixin" + i, target, random);
+            ClassWriter writer = new ClassWriter(0);
+            mixin.accept(writer);
+            mixins.put(mixin.name, writer.toByteArray());
+        }
+
+        List<Patch> patches = new ArrayList<>();
+        for (String target : targets.keySet()) {
+            for (int j = 0; j < METHODS_PER_TARGET; j++) {
+                if (random.nextInt(100) < PATCHED_METHOD_RATIO) {
+                    patches.add(generatePatch(target, j, random));
+                }
+            }
+        }
+        return new Workload(targets, mixins, patches);
+    }
+
+    private static ClassNode generateTarget(String name) {
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+        for (int j = 0; j < METHODS_PER_TARGET; j++) {
+            MethodNode helper = new MethodNode(Opcodes.ACC_PUBLIC, "helper" + j, HELPER_DESC, null, null);
+            helper.instructions.add(new VarInsnNode(Opcodes.ILOAD, 1));
+            helper.instructions.add(new InsnNode(Opcodes.IRETURN));
+            helper.maxStack = 1;
+            helper.maxLocals = 2;
+            node.methods.add(helper);
+
+            MethodNode method = new MethodNode(Opcodes.ACC_PUBLIC, "method" + j, TARGET_DESC, null, null);
+            method.instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+            method.instructions.add(new VarInsnNode(Opcodes.ILOAD, 2));
+            method.instructions.add(new MethodInsnNode(Opcodes.INVOKEVIRTUAL, name, helper.name, HELPER_DESC, false));
+            method.instructions.add(new VarInsnNode(Opcodes.ISTORE, 3));
+            method.instructions.add(new InsnNode(Opcodes.RETURN));
+            method.maxStack = 2;
+            method.maxLocals = 4;
+            node.methods.add(method);
+        }
+        return node;
+    }
+
+    private static ClassNode generateMixin(String name, String target, Random random) {
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+        AnnotationNode mixinAnnotation = new AnnotationNode(MixinConstants.MIXIN);
+        mixinAnnotation.visitArray("value").visit(null, Type.getObjectType(target));
+        node.invisibleAnnotations = new ArrayList<>(List.of(mixinAnnotation));
+
+        int injectors = 1 + random.nextInt(MAX_INJECTORS_PER_MIXIN);
+        for (int i = 0; i < injectors; i++) {
+            int targetMethod = random.nextInt(METHODS_PER_TARGET);
+            String handlerName = "handler$" + i;
+            MethodNode handler = switch (random.nextInt(4)) {
+                case 0 -> generateInject(handlerName, targetMethod);
+                case 1 -> generateRedirect(handlerName, target, targetMethod);
+                case 2 -> generateModifyVariable(handlerName, targetMethod);
+                default -> generateWrapOperation(handlerName, target, targetMethod);
+            };
+            node.methods.add(handler);
+        }
+        return node;
+    }
+
+    private static MethodNode generateInject(String name, int targetMethod) {
+        MethodNode method = new MethodNode(Opcodes.ACC_PRIVATE, name, "(Ljava/lang/String;IL" + CALLBACK_INFO + ";)V", null, null);
+        method.visibleAnnotations = new ArrayList<>(List.of(injectorAnnotation(MixinConstants.INJECT, targetMethod, atAnnotation("HEAD", null))));
+        method.instructions.add(new InsnNode(Opcodes.RETURN));
+        method.maxLocals = 4;
+        return method;
+    }
+
+    private static MethodNode generateRedirect(String name, String target, int targetMethod) {
+        MethodNode method = new MethodNode(Opcodes.ACC_PRIVATE, name, "(L" + target + ";I)I", null, null);
+        method.visibleAnnotations = new ArrayList<>(List.of(injectorAnnotation(MixinConstants.REDIRECT, targetMethod, atAnnotation("INVOKE", helperReference(target, targetMethod)))));
+        method.instructions.add(new VarInsnNode(Opcodes.ILOAD, 2));
+        method.instructions.add(new InsnNode(Opcodes.IRETURN));
+        method.maxStack = 1;
+        method.maxLocals = 3;
+        return method;
+    }
+
+    private static MethodNode generateModifyVariable(String name, int targetMethod) {
+        MethodNode method = new MethodNode(Opcodes.ACC_PRIVATE, name, "(I)I", null, null);
+        AnnotationNode annotation = injectorAnnotation(MixinConstants.MODIFY_VAR, targetMethod, atAnnotation("HEAD", null));
+        annotation.visit("argsOnly", true);
+        method.visibleAnnotations = new ArrayList<>(List.of(annotation));
+        method.instructions.add(new VarInsnNode(Opcodes.ILOAD, 1));
+        method.instructions.add(new InsnNode(Opcodes.IRETURN));
+        method.maxStack = 1;
+        method.maxLocals = 2;
+        return method;
+    }
+
+    private static MethodNode generateWrapOperation(String name, String target, int targetMethod) {
+        MethodNode method = new MethodNode(Opcodes.ACC_PRIVATE, name, "(L" + target + ";IL" + MixinConstants.OPERATION_INTERNAL_NAME + ";)I", null, null);
+        method.visibleAnnotations = new ArrayList<>(List.of(injectorAnnotation(MixinConstants.WRAP_OPERATION, targetMethod, atAnnotation("INVOKE", helperReference(target, targetMethod)))));
+        method.instructions.add(new VarInsnNode(Opcodes.ILOAD, 2));
+        method.instructions.add(new InsnNode(Opcodes.IRETURN));
+        method.maxStack = 1;
+        method.maxLocals = 4;
+        return method;
+    }
+
+    private static Patch generatePatch(String target, int targetMethod, Random random) {
+        Patch.ClassPatchBuilder builder = Patch.builder()
+            .targetClass(target)
+            .targetMethod("method" + targetMethod + TARGET_DESC);
+        return switch (random.nextInt(3)) {
+            case 0 -> builder
+                .targetMixinType(MixinConstants.INJECT)
+                .modifyTarget("method" + targetMethod + "$renamed" + TARGET_DESC)
+                .build();
+            case 1 -> builder
+                .targetMixinType(MixinConstants.REDIRECT, MixinConstants.WRAP_OPERATION)
+                .targetInjectionPoint(helperReference(target, targetMethod))
+                .modifyInjectionPoint("L" + target + ";helper" + targetMethod + "$renamed" + HELPER_DESC)
+                .build();
+            default -> builder
+                .targetMixinType(MixinConstants.MODIFY_VAR)
+                .modifyVariableIndex(1, 1)
+                .build();
+        };
+    }
+
+    private static String helperReference(String target, int targetMethod) {
+        return "L" + target + ";helper" + targetMethod + HELPER_DESC;
+    }
+
+    private static AnnotationNode injectorAnnotation(String desc, int targetMethod, AnnotationNode at) {
+        AnnotationNode annotation = new AnnotationNode(desc);
+        annotation.visitArray("method").visit(null, "method" + targetMethod + TARGET_DESC);
+        annotation.values.add("at");
+        // Inject declares an array of injection points
+        annotation.values.add(desc.equals(MixinConstants.INJECT) ? new ArrayList<>(List.of(at)) : at);
+        return annotation;
+    }
+
+    private static AnnotationNode atAnnotation(String value, String target) {
+        AnnotationNode at = new AnnotationNode(MixinConstants.AT);
+        at.visit("value", value);
+        if (target != null) {
+            at.visit("target", target);
+        }
+        return at;
+    }
+
+    private WorkloadGenerator() {}
+}
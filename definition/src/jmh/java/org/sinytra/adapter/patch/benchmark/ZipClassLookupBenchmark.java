@@ -0,0 +1,63 @@
+package org.sinytra.adapter.patch.benchmark;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.*;
+import org.sinytra.adapter.patch.util.provider.ZipClassLookup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZipClassLookupBenchmark {
+    private Path zipPath;
+    private ZipFile zipFile;
+    private ZipClassLookup cachedLookup;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.zipPath = Files.createTempFile("adapter-benchmark", ".jar");
+        try (OutputStream os = Files.newOutputStream(this.zipPath); ZipOutputStream zos = new ZipOutputStream(os)) {
+            for (String name : BenchmarkFixtures.FIXTURE_CLASSES) {
+                zos.putNextEntry(new ZipEntry(name + ".class"));
+                zos.write(BenchmarkFixtures.readClassBytes(name));
+                zos.closeEntry();
+            }
+        }
+        this.zipFile = new ZipFile(this.zipPath.toFile());
+        this.cachedLookup = new ZipClassLookup(this.zipFile);
+        this.cachedLookup.getClass(BenchmarkFixtures.SWAP_TARGET);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.zipFile.close();
+        Files.deleteIfExists(this.zipPath);
+    }
+
+    @Benchmark
+    public Optional<ClassNode> getClassUncached() {
+        return new ZipClassLookup(this.zipFile).getClass(BenchmarkFixtures.SWAP_TARGET);
+    }
+
+    @Benchmark
+    public Optional<ClassNode> getClassCached() {
+        return this.cachedLookup.getClass(BenchmarkFixtures.SWAP_TARGET);
+    }
+
+    @Benchmark
+    public Optional<ClassNode> getClassMissing() {
+        return new ZipClassLookup(this.zipFile).getClass("net/minecraft/world/level/Missing");
+    }
+}
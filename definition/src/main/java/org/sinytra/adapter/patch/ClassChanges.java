@@ -0,0 +1,111 @@
+package org.sinytra.adapter.patch;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes made by patches to a single mixin class. Members added to the class after it was created are always
+ * considered modified.
+ */
+public final class ClassChanges {
+    private final List<MethodNode> originalMethods;
+    private final Set<MethodNode> originalMethodSet = identitySet();
+    private final Set<FieldNode> originalFields = identitySet();
+    private final Set<MethodNode> modifiedMethods = identitySet();
+    private final Set<FieldNode> modifiedFields = identitySet();
+    private final Set<MethodNode> invalidatedFrames = identitySet();
+    private boolean classAnnotationsModified;
+    private boolean allModified;
+    private boolean allFramesInvalidated;
+    private int modificationCount;
+
+    private ClassChanges(ClassNode classNode) {
+        this.originalMethods = List.copyOf(classNode.methods);
+        this.originalMethodSet.addAll(classNode.methods);
+        this.originalFields.addAll(classNode.fields);
+    }
+
+    /**
+     * Starts tracking changes of a class, which should not have been modified yet.
+     */
+    public static ClassChanges create(ClassNode classNode) {
+        return new ClassChanges(classNode);
+    }
+
+    public void markMethodModified(MethodNode method) {
+        this.modifiedMethods.add(method);
+        this.modificationCount++;
+    }
+
+    public void markFieldModified(FieldNode field) {
+        this.modifiedFields.add(field);
+        this.modificationCount++;
+    }
+
+    public void markClassAnnotationsModified() {
+        this.classAnnotationsModified = true;
+        this.modificationCount++;
+    }
+
+    /**
+     * Marks the whole class as modified, used when the exact changes are unknown.
+     */
+    public void markAllModified() {
+        this.allModified = true;
+        this.modificationCount++;
+    }
+
+    public void invalidateFrames(MethodNode method) {
+        this.invalidatedFrames.add(method);
+        markMethodModified(method);
+    }
+
+    public void invalidateAllFrames() {
+        this.allFramesInvalidated = true;
+        markAllModified();
+    }
+
+    /**
+     * {@return methods of the class at the time tracking started, in their original order}
+     */
+    public List<MethodNode> getOriginalMethods() {
+        return this.originalMethods;
+    }
+
+    public boolean isMethodModified(MethodNode method) {
+        return this.allModified || this.modifiedMethods.contains(method) || !this.originalMethodSet.contains(method);
+    }
+
+    public boolean isFieldModified(FieldNode field) {
+        return this.allModified || this.modifiedFields.contains(field) || !this.originalFields.contains(field);
+    }
+
+    public boolean areClassAnnotationsModified() {
+        return this.allModified || this.classAnnotationsModified;
+    }
+
+    /**
+     * {@return whether the frames of a method must be recomputed}
+     */
+    public boolean needsFrames(MethodNode method) {
+        return this.allFramesInvalidated || this.invalidatedFrames.contains(method) || !this.originalMethodSet.contains(method);
+    }
+
+    /**
+     * {@return the number of changes recorded so far}
+     * Used to tell whether a transform reported its changes.
+     */
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    private static <T> Set<T> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
@@ -3,6 +3,7 @@ package org.sinytra.adapter.patch;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.commons.InstructionAdapter;
 import org.objectweb.asm.tree.AnnotationNode;
 import org.objectweb.asm.tree.InsnList;
@@ -25,6 +26,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public final class ClassPatchInstance extends PatchInstance {
     public static final Codec<ClassPatchInstance> CODEC = RecordCodecBuilder
@@ -39,6 +41,9 @@ public final class ClassPatchInstance extends PatchInstance {
 
     private final List<MethodMatcher> targetMethods;
     private final List<InjectionPointMatcher> targetInjectionPoints;
+    // Quickly reject targets whose name cannot match any matcher
+    private final Set<String> targetMethodNames;
+    private final Set<String> targetInjectionPointKeys;
 
     private ClassPatchInstance(List<String> targetClasses, List<MethodMatcher> targetMethods, List<InjectionPointMatcher> targetInjectionPoints, List<String> targetAnnotations, List<MethodTransform> transforms) {
         this(targetClasses, targetMethods, targetInjectionPoints, targetAnnotations, map -> true, List.of(), transforms);
@@ -49,6 +54,8 @@ public final class ClassPatchInstance extends PatchInstance {
 
         this.targetMethods = targetMethods;
         this.targetInjectionPoints = targetInjectionPoints;
+        this.targetMethodNames = targetMethods.stream().map(MethodMatcher::name).collect(Collectors.toUnmodifiableSet());
+        this.targetInjectionPointKeys = targetInjectionPoints.stream().map(InjectionPointMatcher::targetKey).collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
@@ -61,7 +68,7 @@ public final class ClassPatchInstance extends PatchInstance {
         builder.methodNode(method);
         builder.methodAnnotation(methodAnnotation);
         if (methodAnnotation.matchesDesc(MixinConstants.OVERWRITE)) {
-            return this.targetMethods.isEmpty() || this.targetMethods.stream().anyMatch(matcher -> matcher.matches(method.name, method.desc));
+            return this.targetMethods.isEmpty() || matchesTargetMethod(method.name, method.desc);
         } else if (KNOWN_MIXIN_TYPES.contains(methodAnnotation.getDesc())) {
             return methodAnnotation.<List<String>>getValue("method")
                 .map(value -> {
@@ -74,7 +81,7 @@ public final class ClassPatchInstance extends PatchInstance {
                         }
                         String targetName = qualifier.name();
                         String targetDesc = qualifier.desc();
-                        if ((this.targetMethods.isEmpty() || this.targetMethods.stream().anyMatch(matcher -> matcher.matches(targetName, targetDesc)))
+                        if ((this.targetMethods.isEmpty() || matchesTargetMethod(targetName, targetDesc))
                             // Must call checkInjectionPoint first so that any present @At annotation is added to the method context builder
                             && checkInjectionPoint(owner, methodAnnotation, remaper, builder)
                         ) {
@@ -89,6 +96,20 @@ public final class ClassPatchInstance extends PatchInstance {
         return false;
     }
 
+    private boolean matchesTargetMethod(String name, String desc) {
+        return this.targetMethodNames.contains(name) && this.targetMethods.stream().anyMatch(matcher -> matcher.matches(name, desc));
+    }
+
+    private boolean matchesInjectionPoint(@Nullable String value, String target) {
+        if (!this.targetInjectionPointKeys.contains(target)) {
+            String name = MethodQualifier.create(target).map(MethodQualifier::name).orElse(null);
+            if (name == null || !this.targetInjectionPointKeys.contains(name)) {
+                return false;
+            }
+        }
+        return this.targetInjectionPoints.stream().anyMatch(pred -> pred.test(value, target));
+    }
+
     private boolean checkInjectionPoint(String owner, AnnotationHandle methodAnnotation, PatchEnvironment environment, MethodContextImpl.Builder builder) {
         return methodAnnotation.getNested("at")
             .flatMap(node -> checkInjectionPointAnnotation(owner, node, environment, builder))
@@ -103,7 +124,7 @@ public final class ClassPatchInstance extends PatchInstance {
         AnnotationValueHandle<String> value = injectionPointAnnotation.<String>getValue("value").orElse(null);
         String valueStr = value != null ? value.get() : null;
         String targetStr = injectionPointAnnotation.<String>getValue("target").map(t -> environment.refmapHolder().remap(owner, t.get())).orElse("");
-        if (this.targetInjectionPoints.isEmpty() || this.targetInjectionPoints.stream().anyMatch(pred -> pred.test(valueStr, targetStr))) {
+        if (this.targetInjectionPoints.isEmpty() || matchesInjectionPoint(valueStr, targetStr)) {
             builder.injectionPointAnnotation(injectionPointAnnotation);
             return Optional.of(true);
         }
@@ -1,19 +1,32 @@
 package org.sinytra.adapter.patch;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.JsonOps;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import org.sinytra.adapter.patch.util.MethodQualifier;
 
-import java.util.List;
-import java.util.Map;
-import java.util.OptionalInt;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
 
-public record LVTOffsets(Map<String, Map<MethodQualifier, List<Swap>>> reorders) {
+public final class LVTOffsets {
+    private static final Codec<Map<MethodQualifier, List<Swap>>> CLASS_REORDERS_CODEC = Codec.unboundedMap(MethodQualifier.CODEC, Swap.CODEC.listOf());
     public static final Codec<LVTOffsets> CODEC = RecordCodecBuilder.create(instance -> instance.group(
-        Codec.unboundedMap(Codec.STRING, Codec.unboundedMap(MethodQualifier.CODEC, Swap.CODEC.listOf())).fieldOf("reorders").forGetter(LVTOffsets::reorders)
+        Codec.unboundedMap(Codec.STRING, CLASS_REORDERS_CODEC).fieldOf("reorders").forGetter(LVTOffsets::reorders)
     ).apply(instance, LVTOffsets::new));
+    /**
+     * Returned by {@link #findReorderIndex(String, String, String, int)} when a local variable index is not reordered.
+     */
+    public static final int NO_REORDER = -1;
+
+    private final Map<String, Map<MethodQualifier, List<Swap>>> reorders;
+    // Compiled form of reorders used for lookups: class -> method name -> overloads
+    private final Map<String, Map<String, MethodReorders[]>> index;
 
     public record Swap(int original, int modified) {
         public static final Codec<Swap> CODEC = RecordCodecBuilder.create(instance -> instance.group(
@@ -22,20 +35,122 @@ public record LVTOffsets(Map<String, Map<MethodQualifier, List<Swap>>> reorders)
         ).apply(instance, Swap::new));
     }
 
+    public LVTOffsets(Map<String, Map<MethodQualifier, List<Swap>>> reorders) {
+        this.reorders = reorders;
+        this.index = compile(reorders);
+    }
+
+    public Map<String, Map<MethodQualifier, List<Swap>>> reorders() {
+        return this.reorders;
+    }
+
+    /**
+     * @deprecated use {@link #findReorderIndex(String, String, String, int)}, which does not allocate
+     */
+    @Deprecated
     public OptionalInt findReorder(String cls, String methodName, String methodDesc, int index) {
-        Map<MethodQualifier, List<Swap>> map = this.reorders.get(cls);
-        if (map != null) {
-            MethodQualifier qualifier = new MethodQualifier(methodName, methodDesc);
-            List<Swap> methodReorders = map.get(qualifier);
-            if (methodReorders != null) {
-                for (Swap swap : methodReorders) {
-                    if (swap.original() == index) {
-                        return OptionalInt.of(swap.modified());
+        int reorder = findReorderIndex(cls, methodName, methodDesc, index);
+        return reorder != NO_REORDER ? OptionalInt.of(reorder) : OptionalInt.empty();
+    }
+
+    /**
+     * {@return the new index of a local variable of the given method, or {@link #NO_REORDER} if it was not moved}
+     */
+    public int findReorderIndex(String cls, String methodName, String methodDesc, int index) {
+        Map<String, MethodReorders[]> methods = this.index.get(cls);
+        if (methods != null) {
+            MethodReorders[] overloads = methods.get(methodName);
+            if (overloads != null) {
+                for (MethodReorders method : overloads) {
+                    if (method.desc.equals(methodDesc)) {
+                        return method.get(index);
                     }
                 }
             }
         }
-        return OptionalInt.empty();
+        return NO_REORDER;
+    }
+
+    // Equality only depends on the reorders, the index is derived from them
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof LVTOffsets other && this.reorders.equals(other.reorders);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.reorders.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LVTOffsets[reorders=" + this.reorders + "]";
+    }
+
+    private static Map<String, Map<String, MethodReorders[]>> compile(Map<String, Map<MethodQualifier, List<Swap>>> reorders) {
+        Map<String, Map<String, MethodReorders[]>> index = new HashMap<>(reorders.size());
+        reorders.forEach((cls, classReorders) -> {
+            Map<String, List<MethodReorders>> methods = new HashMap<>();
+            classReorders.forEach((qualifier, swaps) -> {
+                // Lookups only match qualifiers without an owner
+                if (qualifier.owner() == null && qualifier.name() != null && qualifier.desc() != null) {
+                    methods.computeIfAbsent(qualifier.name(), k -> new ArrayList<>()).add(new MethodReorders(qualifier.desc(), swaps));
+                }
+            });
+            if (!methods.isEmpty()) {
+                Map<String, MethodReorders[]> compiled = new HashMap<>(methods.size());
+                methods.forEach((name, overloads) -> compiled.put(name, overloads.toArray(MethodReorders[]::new)));
+                index.put(cls, compiled);
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Open addressing map of original to modified local variable indices.
+     */
+    private static final class MethodReorders {
+        private static final int EMPTY = -1;
+
+        private final String desc;
+        private final int[] keys;
+        private final int[] values;
+        private final int mask;
+
+        MethodReorders(String desc, List<Swap> swaps) {
+            this.desc = desc;
+            int capacity = Integer.highestOneBit(Math.max(1, swaps.size()) * 2 - 1) << 1;
+            this.keys = new int[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(this.keys, EMPTY);
+            for (Swap swap : swaps) {
+                int slot = swap.original() & this.mask;
+                while (this.keys[slot] != EMPTY && this.keys[slot] != swap.original()) {
+                    slot = (slot + 1) & this.mask;
+                }
+                // The first swap of an index takes precedence
+                if (this.keys[slot] == EMPTY) {
+                    this.keys[slot] = swap.original();
+                    this.values[slot] = swap.modified();
+                }
+            }
+        }
+
+        int get(int key) {
+            if (key < 0) {
+                return NO_REORDER;
+            }
+            int slot = key & this.mask;
+            int current;
+            while ((current = this.keys[slot]) != EMPTY) {
+                if (current == key) {
+                    return this.values[slot];
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return NO_REORDER;
+        }
     }
 
     public static LVTOffsets fromJson(JsonElement json) {
@@ -49,4 +164,41 @@ public record LVTOffsets(Map<String, Map<MethodQualifier, List<Swap>>> reorders)
             throw new RuntimeException("Error serializing lvt offsets: " + s);
         });
     }
+
+    /**
+     * Writes lvt offsets incrementally, one class at a time. Each class may only be written once.
+     */
+    public static class StreamWriter implements Closeable {
+        private final Gson gson;
+        private final JsonWriter writer;
+
+        public StreamWriter(Writer writer) throws IOException {
+            this.gson = new GsonBuilder().disableHtmlEscaping().create();
+            this.writer = this.gson.newJsonWriter(writer);
+            this.writer.beginObject();
+            this.writer.name("reorders");
+            this.writer.beginObject();
+        }
+
+        public void write(String cls, Map<MethodQualifier, List<Swap>> reorders) throws IOException {
+            JsonElement json = CLASS_REORDERS_CODEC.encodeStart(JsonOps.INSTANCE, reorders).getOrThrow(false, s -> {
+                throw new RuntimeException("Error serializing lvt offsets: " + s);
+            });
+            this.writer.name(cls);
+            this.gson.toJson(json, this.writer);
+        }
+
+        public void write(Map<String, Map<MethodQualifier, List<Swap>>> reorders) throws IOException {
+            for (Map.Entry<String, Map<MethodQualifier, List<Swap>>> entry : reorders.entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.writer.endObject();
+            this.writer.endObject();
+            this.writer.close();
+        }
+    }
 }
@@ -10,6 +10,8 @@ import org.sinytra.adapter.patch.analysis.LocalVariableLookup;
 import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.MixinConstants;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
+import org.sinytra.adapter.patch.jfr.TargetResolutionEvent;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.util.AdapterUtil;
@@ -39,13 +41,14 @@ public final class MethodContextImpl implements MethodContext {
     private final List<Type> targetTypes;
     private final List<String> matchingTargets;
     private final PatchContext patchContext;
+    private final TargetResolutionCache resolutionCache;
 
     private final Supplier<TargetPair> cleanInjectionPairCache;
     private final Supplier<TargetPair> dirtyInjectionPairCache;
     private final Supplier<LocalVariableLookup> cleanLocalsTableCache;
     private final Map<TargetPair, List<AbstractInsnNode>> targetInstructionsCache;
 
-    public MethodContextImpl(ClassNode classNode, AnnotationValueHandle<?> classAnnotation, MethodNode methodNode, AnnotationHandle methodAnnotation, AnnotationHandle injectionPointAnnotation, List<Type> targetTypes, List<String> matchingTargets, PatchContext patchContext) {
+    public MethodContextImpl(ClassNode classNode, AnnotationValueHandle<?> classAnnotation, MethodNode methodNode, AnnotationHandle methodAnnotation, AnnotationHandle injectionPointAnnotation, List<Type> targetTypes, List<String> matchingTargets, PatchContext patchContext, TargetResolutionCache resolutionCache) {
         this.classNode = Objects.requireNonNull(classNode, "Missing class node");
         this.classAnnotation = Objects.requireNonNull(classAnnotation, "Missing class annotation");
         this.methodNode = Objects.requireNonNull(methodNode, "Missing method node");
@@ -54,14 +57,15 @@ public final class MethodContextImpl implements MethodContext {
         this.targetTypes = Objects.requireNonNull(targetTypes, "Missing target types");
         this.matchingTargets = Objects.requireNonNull(matchingTargets, "Missing matching targets");
         this.patchContext = patchContext;
+        this.resolutionCache = resolutionCache;
 
         this.cleanInjectionPairCache = Suppliers.memoize(() -> {
             ClassLookup cleanClassLookup = this.patchContext.environment().cleanClassLookup();
-            return findInjectionTarget(s -> cleanClassLookup.getClass(s).orElse(null));
+            return findInjectionTarget(true, s -> cleanClassLookup.getClass(s).orElse(null));
         });
-        this.dirtyInjectionPairCache = Suppliers.memoize(() -> findInjectionTarget(name -> this.patchContext.environment().dirtyClassLookup().getClass(name).orElse(null)));
+        this.dirtyInjectionPairCache = Suppliers.memoize(() -> findInjectionTarget(false, name -> this.patchContext.environment().dirtyClassLookup().getClass(name).orElse(null)));
         this.targetInstructionsCache = new HashMap<>();
-        this.cleanLocalsTableCache = Suppliers.memoize(() -> Optional.ofNullable(findCleanInjectionTarget()).map(pair -> new LocalVariableLookup(pair.methodNode())).orElse(null));
+        this.cleanLocalsTableCache = Suppliers.memoize(() -> Optional.ofNullable(findCleanInjectionTarget()).map(pair -> this.resolutionCache.getLocalsTable(pair.methodNode())).orElse(null));
     }
 
     @Override
@@ -115,14 +119,18 @@ public final class MethodContextImpl implements MethodContext {
 
     @Override
     public List<AbstractInsnNode> findInjectionTargetInsns(@Nullable TargetPair target) {
-        return this.targetInstructionsCache.computeIfAbsent(target, this::computeInjectionTargetInsns);
+        return this.targetInstructionsCache.computeIfAbsent(target, t -> t == null ? List.of() : this.resolutionCache.getTargetInsns(t, this.methodNode, this.methodAnnotation.unwrap(),
+            this.injectionPointAnnotation != null ? this.injectionPointAnnotation.unwrap() : null, this::computeInjectionTargetInsns));
     }
 
     @Override
     public void updateDescription(List<Type> parameters) {
         Type returnType = Type.getReturnType(this.methodNode.desc);
         String newDesc = Type.getMethodDescriptor(returnType, parameters.toArray(Type[]::new));
-        LOGGER.info(PatchInstance.MIXINPATCH, "Changing descriptor of method {}.{}{} to {}", this.classNode.name, this.methodNode.name, this.methodNode.desc, newDesc);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("change_descriptor", this.classNode.name, this.methodNode.name, this.methodNode.desc, newDesc);
+        }
+        LOGGER.debug(PatchInstance.MIXINPATCH, "Changing descriptor of method {}.{}{} to {}", this.classNode.name, this.methodNode.name, this.methodNode.desc, newDesc);
         this.methodNode.desc = newDesc;
         this.methodNode.signature = null;
     }
@@ -209,6 +217,20 @@ public final class MethodContextImpl implements MethodContext {
         return dirtyPair != null && findInjectionTargetInsns(dirtyPair).isEmpty();
     }
 
+    @Override
+    public boolean hasUnchangedTarget() {
+        MethodFingerprints fingerprints = patchContext().environment().methodFingerprints();
+        if (fingerprints == null) {
+            return false;
+        }
+        MethodQualifier qualifier = getTargetMethodQualifier();
+        if (qualifier == null || qualifier.name() == null || qualifier.desc() == null) {
+            return false;
+        }
+        String owner = getTargetOwner(qualifier);
+        return owner != null && fingerprints.isUnchanged(owner, qualifier.name(), qualifier.desc());
+    }
+
     private InsnList getSlicedInsns(AnnotationHandle parentAnnotation, ClassNode classNode, MethodNode injectorMethod, ClassNode targetClass, MethodNode targetMethod, PatchContext context) {
         return parentAnnotation.<AnnotationNode>getValue("slice")
             .map(handle -> {
@@ -229,23 +251,33 @@ public final class MethodContextImpl implements MethodContext {
     }
 
     @Nullable
-    private TargetPair findInjectionTarget(Function<String, ClassNode> classLookup) {
+    private TargetPair findInjectionTarget(boolean clean, Function<String, ClassNode> classLookup) {
         // Find target method qualifier
         MethodQualifier qualifier = getTargetMethodQualifier();
         if (qualifier == null || qualifier.name() == null || qualifier.desc() == null) {
             return null;
         }
-        String owner = Optional.ofNullable(qualifier.internalOwnerName())
-            .orElseGet(() -> {
-                List<Type> targetTypes = targetTypes();
-                if (targetTypes.size() == 1) {
-                    return targetTypes.get(0).getInternalName();
-                }
-                return null;
-            });
+        String owner = getTargetOwner(qualifier);
         if (owner == null) {
             return null;
         }
+        return this.resolutionCache.getInjectionTarget(clean, owner, qualifier.name(), qualifier.desc(), () -> {
+            TargetResolutionEvent event = new TargetResolutionEvent();
+            event.begin();
+            TargetPair pair = resolveInjectionTarget(owner, qualifier, classLookup);
+            if (event.shouldCommit()) {
+                event.owner = owner;
+                event.method = qualifier.name() + qualifier.desc();
+                event.clean = clean;
+                event.found = pair != null;
+                event.commit();
+            }
+            return pair;
+        });
+    }
+
+    @Nullable
+    private TargetPair resolveInjectionTarget(String owner, MethodQualifier qualifier, Function<String, ClassNode> classLookup) {
         // Find target class
         ClassNode targetClass = classLookup.apply(owner);
         if (targetClass == null) {
@@ -260,6 +292,18 @@ public final class MethodContextImpl implements MethodContext {
         return new TargetPair(targetClass, targetMethod);
     }
 
+    @Nullable
+    private String getTargetOwner(MethodQualifier qualifier) {
+        return Optional.ofNullable(qualifier.internalOwnerName())
+            .orElseGet(() -> {
+                List<Type> targetTypes = targetTypes();
+                if (targetTypes.size() == 1) {
+                    return targetTypes.get(0).getInternalName();
+                }
+                return null;
+            });
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -340,7 +384,11 @@ public final class MethodContextImpl implements MethodContext {
         }
 
         public MethodContextImpl build(PatchContext context) {
-            return new MethodContextImpl(this.classNode, this.classAnnotation, this.methodNode, this.methodAnnotation, this.injectionPointAnnotation, List.copyOf(this.targetTypes), List.copyOf(this.matchingTargets), context);
+            return build(context, new TargetResolutionCache());
+        }
+
+        public MethodContextImpl build(PatchContext context, TargetResolutionCache resolutionCache) {
+            return new MethodContextImpl(this.classNode, this.classAnnotation, this.methodNode, this.methodAnnotation, this.injectionPointAnnotation, List.copyOf(this.targetTypes), List.copyOf(this.matchingTargets), context, resolutionCache);
         }
     }
 }
@@ -0,0 +1,41 @@
+package org.sinytra.adapter.patch;
+
+import com.google.gson.JsonElement;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.JsonOps;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Methods whose bodies differ between the clean and dirty game jar. Only classes that were modified are listed,
+ * methods of all other classes are considered unchanged unless their class was added to the dirty jar.
+ */
+public record MethodFingerprints(Map<String, Set<String>> changedMethods, Set<String> addedClasses) {
+    private static final Codec<Set<String>> STRING_SET_CODEC = Codec.STRING.listOf().xmap(Set::copyOf, list -> list.stream().sorted().toList());
+    public static final Codec<MethodFingerprints> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        Codec.unboundedMap(Codec.STRING, STRING_SET_CODEC).fieldOf("changed").forGetter(MethodFingerprints::changedMethods),
+        STRING_SET_CODEC.fieldOf("added").forGetter(MethodFingerprints::addedClasses)
+    ).apply(instance, MethodFingerprints::new));
+
+    public boolean isUnchanged(String owner, String name, String desc) {
+        if (this.addedClasses.contains(owner)) {
+            return false;
+        }
+        Set<String> methods = this.changedMethods.get(owner);
+        return methods == null || !methods.contains(name + desc);
+    }
+
+    public static MethodFingerprints fromJson(JsonElement json) {
+        return CODEC.decode(JsonOps.INSTANCE, json).getOrThrow(false, s -> {
+            throw new RuntimeException("Error deserializing method fingerprints: " + s);
+        }).getFirst();
+    }
+
+    public JsonElement toJson() {
+        return CODEC.encodeStart(JsonOps.INSTANCE, this).getOrThrow(false, s -> {
+            throw new RuntimeException("Error serializing method fingerprints: " + s);
+        });
+    }
+}
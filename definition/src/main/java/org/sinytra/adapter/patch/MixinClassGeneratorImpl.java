@@ -7,6 +7,7 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
 import org.sinytra.adapter.patch.api.MixinClassGenerator;
 import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.util.provider.ClassLookup;
 import org.spongepowered.asm.service.MixinService;
 
 import java.io.IOException;
@@ -15,6 +16,17 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class MixinClassGeneratorImpl implements MixinClassGenerator {
     private final Map<String, GeneratedClass> generatedMixinClasses = new ConcurrentHashMap<>();
+    // Resolves target classes outside of a running mixin environment, falls back to the mixin service when null
+    @Nullable
+    private final ClassLookup targetClassLookup;
+
+    public MixinClassGeneratorImpl() {
+        this(null);
+    }
+
+    public MixinClassGeneratorImpl(@Nullable ClassLookup targetClassLookup) {
+        this.targetClassLookup = targetClassLookup;
+    }
 
     @Nullable
     public Map<String, GeneratedClass> getGeneratedMixinClasses() {
@@ -38,12 +50,7 @@ public class MixinClassGeneratorImpl implements MixinClassGenerator {
     }
 
     private ClassNode doGenerateMixinClass(String className, String targetClass, @Nullable String parent) {
-        ClassNode targetNode;
-        try {
-            targetNode = MixinService.getService().getBytecodeProvider().getClassNode(targetClass);
-        } catch (ClassNotFoundException | IOException e) {
-            throw new IllegalArgumentException("Target class " + targetClass + " not found", e);
-        }
+        ClassNode targetNode = getTargetClass(targetClass);
 
         ClassNode node = new ClassNode();
         boolean itf = (targetNode.access & Opcodes.ACC_INTERFACE) == Opcodes.ACC_INTERFACE;
@@ -58,4 +65,16 @@ public class MixinClassGeneratorImpl implements MixinClassGenerator {
         mixinAnn.visitEnd();
         return node;
     }
+
+    private ClassNode getTargetClass(String targetClass) {
+        if (this.targetClassLookup != null) {
+            return this.targetClassLookup.getClass(targetClass)
+                .orElseThrow(() -> new IllegalArgumentException("Target class " + targetClass + " not found"));
+        }
+        try {
+            return MixinService.getService().getBytecodeProvider().getClassNode(targetClass);
+        } catch (ClassNotFoundException | IOException e) {
+            throw new IllegalArgumentException("Target class " + targetClass + " not found", e);
+        }
+    }
 }
@@ -13,11 +13,18 @@ public class PatchContextImpl implements PatchContext {
     private final List<Type> targetTypes;
     private final PatchEnvironment environment;
     private final List<Runnable> postApply = new ArrayList<>();
+    private final TargetResolutionCache resolutionCache = new TargetResolutionCache();
+    private final ClassChanges changes;
 
     public PatchContextImpl(ClassNode classNode, List<Type> targetTypes, PatchEnvironment environment) {
+        this(classNode, targetTypes, environment, ClassChanges.create(classNode));
+    }
+
+    public PatchContextImpl(ClassNode classNode, List<Type> targetTypes, PatchEnvironment environment, ClassChanges changes) {
         this.classNode = classNode;
         this.targetTypes = targetTypes;
         this.environment = environment;
+        this.changes = changes;
     }
 
     @Override
@@ -45,7 +52,19 @@ public class PatchContextImpl implements PatchContext {
         this.postApply.add(consumer);
     }
 
+    public TargetResolutionCache resolutionCache() {
+        return this.resolutionCache;
+    }
+
+    @Override
+    public ClassChanges changes() {
+        return this.changes;
+    }
+
     public void run() {
-        this.postApply.forEach(Runnable::run);
+        // The context may be shared by multiple patches, each running its own post-apply actions
+        List<Runnable> actions = List.copyOf(this.postApply);
+        this.postApply.clear();
+        actions.forEach(Runnable::run);
     }
 }
@@ -10,7 +10,13 @@ import org.sinytra.adapter.patch.util.provider.ClassLookup;
 import org.sinytra.adapter.patch.util.provider.MixinClassLookup;
 
 public record PatchEnvironmentImpl(RefmapHolder refmapHolder, ClassLookup cleanClassLookup, ClassLookup dirtyClassLookup, @Nullable BytecodeFixerUpper bytecodeFixerUpper,
-                                   MixinClassGenerator classGenerator, InheritanceHandler inheritanceHandler, int fabricLVTCompatibility) implements PatchEnvironment {
+                                   MixinClassGenerator classGenerator, InheritanceHandler inheritanceHandler, int fabricLVTCompatibility,
+                                   @Nullable MethodFingerprints methodFingerprints) implements PatchEnvironment {
+
+    public PatchEnvironmentImpl(RefmapHolder refmapHolder, ClassLookup cleanClassLookup, ClassLookup dirtyClassLookup, @Nullable BytecodeFixerUpper bytecodeFixerUpper,
+                                MixinClassGenerator classGenerator, InheritanceHandler inheritanceHandler, int fabricLVTCompatibility) {
+        this(refmapHolder, cleanClassLookup, dirtyClassLookup, bytecodeFixerUpper, classGenerator, inheritanceHandler, fabricLVTCompatibility, null);
+    }
 
     public PatchEnvironmentImpl(RefmapHolder refmapHolder, ClassLookup cleanClassLookup, @Nullable BytecodeFixerUpper bytecodeFixerUpper,
                                        MixinClassGenerator classGenerator, InheritanceHandler inheritanceHandler, int fabricLVTCompatibility) {
@@ -0,0 +1,99 @@
+package org.sinytra.adapter.patch;
+
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+
+import java.util.*;
+
+/**
+ * Index of a patch set by target class. Looking up the patches that may apply to a mixin class only probes the
+ * mixin's own targets, instead of checking every patch of the set.
+ */
+public final class PatchIndex {
+    private final List<Patch> patches;
+    private final Map<String, int[]> classPatches;
+    // Patches that are not restricted to specific target classes
+    private final int[] wildcardPatches;
+
+    private PatchIndex(List<Patch> patches, Map<String, int[]> classPatches, int[] wildcardPatches) {
+        this.patches = patches;
+        this.classPatches = classPatches;
+        this.wildcardPatches = wildcardPatches;
+    }
+
+    public static PatchIndex create(List<? extends Patch> patches) {
+        Map<String, List<Integer>> classPatches = new HashMap<>();
+        List<Integer> wildcardPatches = new ArrayList<>();
+        for (int i = 0; i < patches.size(); i++) {
+            if (patches.get(i) instanceof PatchInstance instance && !instance.targetClasses.isEmpty()) {
+                for (String targetClass : instance.targetClasses) {
+                    classPatches.computeIfAbsent(targetClass, k -> new ArrayList<>()).add(i);
+                }
+            } else {
+                wildcardPatches.add(i);
+            }
+        }
+        Map<String, int[]> compiled = new HashMap<>(classPatches.size());
+        classPatches.forEach((targetClass, indices) -> compiled.put(targetClass, toArray(indices)));
+        return new PatchIndex(List.copyOf(patches), compiled, toArray(wildcardPatches));
+    }
+
+    public List<Patch> getPatches() {
+        return this.patches;
+    }
+
+    /**
+     * {@return patches that may target the given mixin class, in their original order}
+     */
+    public List<Patch> getCandidates(ClassNode classNode) {
+        BitSet candidates = new BitSet(this.patches.size());
+        for (int i : this.wildcardPatches) {
+            candidates.set(i);
+        }
+        for (String targetClass : getMixinTargets(classNode)) {
+            int[] indices = this.classPatches.get(targetClass);
+            if (indices != null) {
+                for (int i : indices) {
+                    candidates.set(i);
+                }
+            }
+        }
+        List<Patch> list = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            list.add(this.patches.get(i));
+        }
+        return list;
+    }
+
+    public Patch.Result apply(ClassNode classNode, PatchEnvironment environment) {
+        return PatchInstance.applyAll(classNode, getCandidates(classNode), environment);
+    }
+
+    public Patch.Result apply(ClassNode classNode, PatchEnvironment environment, ClassChanges changes) {
+        return PatchInstance.applyAll(classNode, getCandidates(classNode), environment, changes);
+    }
+
+    // Both value and targets are collected, patches still verify the class target themselves
+    private static Set<String> getMixinTargets(ClassNode classNode) {
+        Set<String> targets = new HashSet<>();
+        if (classNode.invisibleAnnotations != null) {
+            for (AnnotationNode annotation : classNode.invisibleAnnotations) {
+                if (annotation.desc.equals(MixinConstants.MIXIN)) {
+                    PatchInstance.<List<Type>>findAnnotationValue(annotation.values, "value")
+                        .ifPresent(types -> types.get().forEach(type -> targets.add(type.getInternalName())));
+                    PatchInstance.<List<String>>findAnnotationValue(annotation.values, "targets")
+                        .ifPresent(types -> targets.addAll(types.get()));
+                }
+            }
+        }
+        return targets;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
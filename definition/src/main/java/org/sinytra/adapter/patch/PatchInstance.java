@@ -7,6 +7,8 @@ import org.objectweb.asm.tree.AnnotationNode;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.jfr.MethodTransformEvent;
+import org.sinytra.adapter.patch.jfr.PatchApplyEvent;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.transformer.*;
@@ -15,6 +17,7 @@ import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -35,6 +38,7 @@ public abstract sealed class PatchInstance implements Patch permits ClassPatchIn
     protected final Predicate<AnnotationHandle> targetAnnotationValues;
     protected final List<ClassTransform> classTransforms;
     protected final List<MethodTransform> transforms;
+    private final TransformDispatch transformDispatch;
 
     protected PatchInstance(List<String> targetClasses, List<String> targetAnnotations, List<MethodTransform> transforms) {
         this(targetClasses, targetAnnotations, map -> true, List.of(), transforms);
@@ -46,33 +50,128 @@ public abstract sealed class PatchInstance implements Patch permits ClassPatchIn
         this.targetAnnotationValues = targetAnnotationValues;
         this.classTransforms = classTransforms;
         this.transforms = transforms;
+        this.transformDispatch = TransformDispatch.compile(transforms);
     }
 
     public abstract Codec<? extends PatchInstance> codec();
 
     @Override
     public Result apply(ClassNode classNode, PatchEnvironment environment) {
-        Result result = Result.PASS;
         ClassTarget classTarget = checkClassTarget(classNode);
         if (classTarget != null) {
-            PatchContextImpl context = new PatchContextImpl(classNode, classTarget.targetTypes(), environment);
-            AnnotationValueHandle<?> classAnnotation = classTarget.handle();
-            for (ClassTransform classTransform : this.classTransforms) {
-                result = result.or(classTransform.apply(classNode, classTarget.handle(), context));
+            return apply(classNode, classTarget, new PatchContextImpl(classNode, classTarget.targetTypes(), environment));
+        }
+        return Result.PASS;
+    }
+
+    /**
+     * Applies patches in order, sharing a single patch context and its target resolution cache between all patches
+     * that match the class. Produces the same result as applying each patch separately.
+     */
+    public static Result applyAll(ClassNode classNode, List<? extends Patch> patches, PatchEnvironment environment) {
+        return applyAll(classNode, patches, environment, ClassChanges.create(classNode));
+    }
+
+    /**
+     * Applies patches in order, recording the changes they make into the given {@link ClassChanges}.
+     */
+    public static Result applyAll(ClassNode classNode, List<? extends Patch> patches, PatchEnvironment environment, ClassChanges changes) {
+        PatchApplyEvent event = new PatchApplyEvent();
+        event.begin();
+        Result result = Result.PASS;
+        PatchContextImpl context = null;
+        for (Patch patch : patches) {
+            if (patch instanceof PatchInstance instance) {
+                ClassTarget classTarget = instance.checkClassTarget(classNode);
+                if (classTarget != null) {
+                    // Target types may have been modified by a previous patch
+                    if (context == null || !context.targetTypes().equals(classTarget.targetTypes())) {
+                        context = new PatchContextImpl(classNode, classTarget.targetTypes(), environment, changes);
+                    }
+                    result = result.or(instance.apply(classNode, classTarget, context));
+                }
+            } else {
+                Result patchResult = patch.apply(classNode, environment);
+                // We don't know what was touched by foreign patches
+                if (patchResult == Result.COMPUTE_FRAMES) {
+                    changes.invalidateAllFrames();
+                } else if (patchResult == Result.APPLY) {
+                    changes.markAllModified();
+                }
+                result = result.or(patchResult);
             }
-            for (MethodNode method : classNode.methods) {
-                MethodContext methodContext = checkMethodTarget(classAnnotation, classNode, method, environment, classTarget.targetTypes(), context);
-                if (methodContext != null) {
-                    for (MethodTransform transform : this.transforms) {
-                        Collection<String> accepted = transform.getAcceptedAnnotations();
-                        if (accepted.isEmpty() || accepted.contains(methodContext.methodAnnotation().getDesc())) {
-                            result = result.or(transform.apply(classNode, method, methodContext, context));
+        }
+        if (event.shouldCommit()) {
+            event.mixinClass = classNode.name;
+            event.patchCount = patches.size();
+            event.result = result.name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private Result apply(ClassNode classNode, ClassTarget classTarget, PatchContextImpl context) {
+        Result result = Result.PASS;
+        PatchEnvironment environment = context.environment();
+        AnnotationValueHandle<?> classAnnotation = classTarget.handle();
+        for (ClassTransform classTransform : this.classTransforms) {
+            int modificationCount = context.changes().getModificationCount();
+            Result classResult = classTransform.apply(classNode, classTarget.handle(), context);
+            if (classResult == Result.COMPUTE_FRAMES) {
+                context.changes().invalidateAllFrames();
+            } else if (classResult == Result.APPLY && context.changes().getModificationCount() == modificationCount) {
+                // Class transforms that don't report their changes may have modified anything
+                context.changes().markAllModified();
+            }
+            result = result.or(classResult);
+        }
+        for (MethodNode method : classNode.methods) {
+            MethodContext methodContext = checkMethodTarget(classAnnotation, classNode, method, environment, classTarget.targetTypes(), context);
+            if (methodContext != null) {
+                String annotationDesc = methodContext.methodAnnotation().getDesc();
+                TransformSlot[] slots = this.transformDispatch.get(annotationDesc);
+                for (int i = 0; i < slots.length; i++) {
+                    TransformSlot slot = slots[i];
+                    MethodTransform transform = slot.transform();
+                    if (!transform.isApplicable(method, methodContext)) {
+                        slot.skipped().increment();
+                        continue;
+                    }
+                    slot.invoked().increment();
+                    int modificationCount = context.changes().getModificationCount();
+                    MethodTransformEvent event = new MethodTransformEvent();
+                    event.begin();
+                    Result transformResult = transform.apply(classNode, method, methodContext, context);
+                    if (event.shouldCommit()) {
+                        event.mixinClass = classNode.name;
+                        event.method = method.name + method.desc;
+                        event.transform = transform.getClass().getName();
+                        event.result = transformResult.name();
+                        event.commit();
+                    }
+                    if (transformResult != Result.PASS && context.changes().getModificationCount() == modificationCount) {
+                        // Method transforms that don't report their changes may have modified other members as well
+                        if (transformResult == Result.COMPUTE_FRAMES) {
+                            context.changes().invalidateAllFrames();
+                        } else {
+                            context.changes().markAllModified();
                         }
+                    } else if (transformResult == Result.COMPUTE_FRAMES) {
+                        context.changes().invalidateFrames(method);
+                    } else if (transformResult == Result.APPLY) {
+                        context.changes().markMethodModified(method);
+                    }
+                    result = result.or(transformResult);
+                    // The transform replaced the mixin annotation, continue with the remaining transforms accepting the new one
+                    if (!annotationDesc.equals(methodContext.methodAnnotation().getDesc())) {
+                        annotationDesc = methodContext.methodAnnotation().getDesc();
+                        slots = this.transformDispatch.get(annotationDesc);
+                        i = TransformDispatch.indexAfter(slots, slot) - 1;
                     }
                 }
             }
-            context.run();
         }
+        context.run();
         return result;
     }
 
@@ -106,7 +205,7 @@ public abstract sealed class PatchInstance implements Patch permits ClassPatchIn
     }
 
     @Nullable
-    private MethodContext checkMethodTarget(@Nullable AnnotationValueHandle<?> classAnnotation, ClassNode owner, MethodNode method, PatchEnvironment remaper, List<Type> targetTypes, PatchContext context) {
+    private MethodContext checkMethodTarget(@Nullable AnnotationValueHandle<?> classAnnotation, ClassNode owner, MethodNode method, PatchEnvironment remaper, List<Type> targetTypes, PatchContextImpl context) {
         if (method.visibleAnnotations != null) {
             for (AnnotationNode annotation : method.visibleAnnotations) {
                 if (this.targetAnnotations.isEmpty() || this.targetAnnotations.contains(annotation.desc)) {
@@ -118,7 +217,7 @@ public abstract sealed class PatchInstance implements Patch permits ClassPatchIn
                     }
                     AnnotationHandle annotationHandle = new AnnotationHandle(annotation);
                     if (checkAnnotation(owner.name, method, annotationHandle, remaper, builder) && (this.targetAnnotationValues == null || this.targetAnnotationValues.test(annotationHandle))) {
-                        return builder.build(context);
+                        return builder.build(context, context.resolutionCache());
                     }
                 }
             }
@@ -143,6 +242,55 @@ public abstract sealed class PatchInstance implements Patch permits ClassPatchIn
 
     private record ClassTarget(@Nullable AnnotationValueHandle<?> handle, List<Type> targetTypes) {}
 
+    void collectMetrics(Map<String, Long> invocationCounts, Map<String, Long> skipCounts) {
+        for (TransformSlot slot : this.transformDispatch.slots()) {
+            String name = slot.transform().getClass().getName();
+            invocationCounts.merge(name, slot.invoked().sum(), Long::sum);
+            skipCounts.merge(name, slot.skipped().sum(), Long::sum);
+        }
+    }
+
+    private record TransformSlot(int index, MethodTransform transform, LongAdder invoked, LongAdder skipped) {}
+
+    // Transforms accepting each mixin annotation in their original order, computed once per patch
+    private record TransformDispatch(TransformSlot[] slots, Map<String, TransformSlot[]> annotationTransforms, TransformSlot[] wildcardTransforms) {
+        public static TransformDispatch compile(List<MethodTransform> transforms) {
+            TransformSlot[] slots = new TransformSlot[transforms.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new TransformSlot(i, transforms.get(i), new LongAdder(), new LongAdder());
+            }
+            Set<String> annotations = new HashSet<>();
+            for (MethodTransform transform : transforms) {
+                annotations.addAll(transform.getAcceptedAnnotations());
+            }
+            Map<String, TransformSlot[]> annotationTransforms = new HashMap<>();
+            for (String annotation : annotations) {
+                annotationTransforms.put(annotation, Arrays.stream(slots)
+                    .filter(s -> s.transform().getAcceptedAnnotations().isEmpty() || s.transform().getAcceptedAnnotations().contains(annotation))
+                    .toArray(TransformSlot[]::new));
+            }
+            TransformSlot[] wildcardTransforms = Arrays.stream(slots)
+                .filter(s -> s.transform().getAcceptedAnnotations().isEmpty())
+                .toArray(TransformSlot[]::new);
+            return new TransformDispatch(slots, annotationTransforms, wildcardTransforms);
+        }
+
+        public TransformSlot[] get(String annotationDesc) {
+            TransformSlot[] array = this.annotationTransforms.get(annotationDesc);
+            return array != null ? array : this.wildcardTransforms;
+        }
+
+        // Position of the first slot that comes after the given one in the original transform order
+        public static int indexAfter(TransformSlot[] slots, TransformSlot slot) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i].index() > slot.index()) {
+                    return i;
+                }
+            }
+            return slots.length;
+        }
+    }
+
     protected abstract static class BaseBuilder<T extends Builder<T>> implements Builder<T> {
         protected final Set<String> targetClasses = new HashSet<>();
         protected final Set<String> targetAnnotations = new HashSet<>();
@@ -0,0 +1,29 @@
+package org.sinytra.adapter.patch;
+
+import org.sinytra.adapter.patch.api.Patch;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Method transform invocation counts of a set of patches, summed by transform class name.
+ *
+ * @param invocationCounts transforms that passed their applicability check and were applied
+ * @param skipCounts       transforms rejected by their applicability check before resolving any targets
+ */
+public record PatchMetrics(Map<String, Long> invocationCounts, Map<String, Long> skipCounts) {
+    /**
+     * Collects the counts recorded by patches since they were created.
+     */
+    public static PatchMetrics collect(Collection<? extends Patch> patches) {
+        Map<String, Long> invocationCounts = new TreeMap<>();
+        Map<String, Long> skipCounts = new TreeMap<>();
+        for (Patch patch : patches) {
+            if (patch instanceof PatchInstance instance) {
+                instance.collectMetrics(invocationCounts, skipCounts);
+            }
+        }
+        return new PatchMetrics(invocationCounts, skipCounts);
+    }
+}
@@ -0,0 +1,56 @@
+package org.sinytra.adapter.patch;
+
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.analysis.LocalVariableLookup;
+import org.sinytra.adapter.patch.api.MethodContext;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Injection target resolution results shared by all method contexts of a mixin class. Entries are keyed by every input
+ * of the resolution, so transforms that modify annotations or descriptors never observe stale results.
+ */
+public class TargetResolutionCache {
+    private final Map<TargetKey, Optional<MethodContext.TargetPair>> injectionTargets = new HashMap<>();
+    private final Map<MethodNode, LocalVariableLookup> localsTables = new IdentityHashMap<>();
+    private final Map<InsnsKey, List<AbstractInsnNode>> targetInsns = new HashMap<>();
+
+    @Nullable
+    public MethodContext.TargetPair getInjectionTarget(boolean clean, String owner, String name, String desc, Supplier<MethodContext.TargetPair> resolver) {
+        return this.injectionTargets.computeIfAbsent(new TargetKey(clean, owner, name, desc), k -> Optional.ofNullable(resolver.get())).orElse(null);
+    }
+
+    public LocalVariableLookup getLocalsTable(MethodNode method) {
+        return this.localsTables.computeIfAbsent(method, LocalVariableLookup::new);
+    }
+
+    public List<AbstractInsnNode> getTargetInsns(MethodContext.TargetPair target, MethodNode mixinMethod, AnnotationNode methodAnnotation, @Nullable AnnotationNode injectionPointAnnotation,
+                                                 Function<MethodContext.TargetPair, List<AbstractInsnNode>> resolver) {
+        InsnsKey key = new InsnsKey(target, mixinMethod, mixinMethod.desc, snapshot(methodAnnotation), snapshot(injectionPointAnnotation));
+        return this.targetInsns.computeIfAbsent(key, k -> resolver.apply(target));
+    }
+
+    // Creates a structural copy of annotation values that can be compared for equality
+    private static Object snapshot(@Nullable Object value) {
+        if (value instanceof AnnotationNode annotation) {
+            return List.of(annotation.desc, annotation.values != null ? snapshot(annotation.values) : List.of());
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(TargetResolutionCache::snapshot).toList();
+        }
+        if (value instanceof Object[] array) {
+            return Arrays.stream(array).map(TargetResolutionCache::snapshot).toList();
+        }
+        return value == null ? List.of() : value;
+    }
+
+    private record TargetKey(boolean clean, String owner, String name, String desc) {}
+
+    // Target nodes are compared by identity
+    private record InsnsKey(MethodContext.TargetPair target, MethodNode mixinMethod, String mixinDesc, Object methodAnnotation, Object injectionPointAnnotation) {}
+}
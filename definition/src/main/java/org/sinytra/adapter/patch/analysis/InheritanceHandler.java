@@ -1,15 +1,24 @@
 package org.sinytra.adapter.patch.analysis;
 
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.sinytra.adapter.patch.util.provider.ClassLookup;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InheritanceHandler {
+    private static final String OBJECT = "java/lang/Object";
+
     private final ClassLookup classProvider;
-    private final Map<String, Collection<String>> parentCache = new HashMap<>();
+    private final Map<String, Collection<String>> parentCache = new ConcurrentHashMap<>();
+    private final Map<String, String> commonSuperClassCache = new ConcurrentHashMap<>();
+    private final Map<String, Optional<ClassNode>> platformClasses = new ConcurrentHashMap<>();
 
     public InheritanceHandler(ClassLookup classProvider) {
         this.classProvider = classProvider;
@@ -38,6 +47,71 @@ public class InheritanceHandler {
         return false;
     }
 
+    /**
+     * {@return the closest common superclass of two classes, or {@code java/lang/Object} if either is an interface}
+     * Classes missing from the lookup are read from the platform class loader, so that JDK types resolve correctly.
+     *
+     * @throws TypeNotPresentException if a class or one of its superclasses can't be found
+     */
+    public String getCommonSuperClass(String first, String second) {
+        if (first.equals(second)) {
+            return first;
+        }
+        // The result doesn't depend on argument order
+        String key = first.compareTo(second) < 0 ? first + ";" + second : second + ";" + first;
+        String common = this.commonSuperClassCache.get(key);
+        if (common == null) {
+            common = computeCommonSuperClass(first, second);
+            this.commonSuperClassCache.put(key, common);
+        }
+        return common;
+    }
+
+    private String computeCommonSuperClass(String first, String second) {
+        ClassNode firstNode = getHierarchyClass(first);
+        ClassNode secondNode = getHierarchyClass(second);
+        if (isInterface(firstNode) || isInterface(secondNode)) {
+            return OBJECT;
+        }
+        Set<String> parents = new HashSet<>();
+        for (ClassNode node = firstNode; node != null; node = getSuperClass(node)) {
+            parents.add(node.name);
+        }
+        for (ClassNode node = secondNode; node != null; node = getSuperClass(node)) {
+            if (parents.contains(node.name)) {
+                return node.name;
+            }
+        }
+        return OBJECT;
+    }
+
+    private ClassNode getSuperClass(ClassNode node) {
+        return node.superName != null ? getHierarchyClass(node.superName) : null;
+    }
+
+    private ClassNode getHierarchyClass(String name) {
+        return this.classProvider.getClass(name)
+            .or(() -> this.platformClasses.computeIfAbsent(name, InheritanceHandler::readPlatformClass))
+            .orElseThrow(() -> new TypeNotPresentException(name.replace('/', '.'), null));
+    }
+
+    private static Optional<ClassNode> readPlatformClass(String name) {
+        try (InputStream is = ClassLoader.getPlatformClassLoader().getResourceAsStream(name + ".class")) {
+            if (is == null) {
+                return Optional.empty();
+            }
+            ClassNode node = new ClassNode();
+            new ClassReader(is).accept(node, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return Optional.of(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isInterface(ClassNode node) {
+        return (node.access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
     private Collection<String> getClassParents(String name) {
         Collection<String> parents = this.parentCache.get(name);
         if (parents == null) {
@@ -53,7 +127,7 @@ public class InheritanceHandler {
         if (node != null) {
             if (node.superName != null) {
                 parents.add(node.superName);
-                if (!node.superName.equals("java/lang/Object")) {
+                if (!node.superName.equals(OBJECT)) {
                     parents.addAll(getClassParents(node.superName));
                 }
             }
@@ -62,6 +62,13 @@ public interface MethodContext {
 
     boolean failsDirtyInjectionCheck();
 
+    /**
+     * Cheaply checks whether the target method body is identical in the clean and dirty environment, without resolving it.
+     */
+    default boolean hasUnchangedTarget() {
+        return false;
+    }
+
     record LocalVariable(int index, Type type) {}
 
     record TargetPair(ClassNode classNode, MethodNode methodNode) {}
@@ -16,5 +16,12 @@ public interface MethodTransform {
         return Set.of();
     }
 
+    /**
+     * Cheap pre-check evaluated before {@link #apply}. Must not resolve injection targets or perform class lookups.
+     */
+    default boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+        return true;
+    }
+
     Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context);
 }
@@ -32,6 +32,10 @@ public interface Patch {
         return new InterfacePatchInstance.InterfaceClassPatchBuilderImpl();
     }
 
+    static Result applyAll(ClassNode classNode, List<? extends Patch> patches, PatchEnvironment environment) {
+        return PatchInstance.applyAll(classNode, patches, environment);
+    }
+
     Result apply(ClassNode classNode, PatchEnvironment remaper);
 
     Codec<? extends Patch> codec();
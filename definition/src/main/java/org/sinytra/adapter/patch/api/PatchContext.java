@@ -2,6 +2,7 @@ package org.sinytra.adapter.patch.api;
 
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.ClassChanges;
 import org.sinytra.adapter.patch.PatchContextImpl;
 
 import java.util.List;
@@ -20,4 +21,10 @@ public interface PatchContext {
     String remap(String reference);
 
     void postApply(Runnable consumer);
+
+    /**
+     * {@return changes made to the class so far} Transforms that apply without recording any change are assumed to
+     * have modified the whole class.
+     */
+    ClassChanges changes();
 }
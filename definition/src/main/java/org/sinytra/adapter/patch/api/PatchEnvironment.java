@@ -1,6 +1,7 @@
 package org.sinytra.adapter.patch.api;
 
 import org.jetbrains.annotations.Nullable;
+import org.sinytra.adapter.patch.MethodFingerprints;
 import org.sinytra.adapter.patch.PatchEnvironmentImpl;
 import org.sinytra.adapter.patch.analysis.InheritanceHandler;
 import org.sinytra.adapter.patch.fixes.BytecodeFixerUpper;
@@ -25,4 +26,10 @@ public interface PatchEnvironment {
     RefmapHolder refmapHolder();
 
     int fabricLVTCompatibility();
+
+    // Absent when no fingerprint data is available, in which case no target is considered unchanged
+    @Nullable
+    default MethodFingerprints methodFingerprints() {
+        return null;
+    }
 }
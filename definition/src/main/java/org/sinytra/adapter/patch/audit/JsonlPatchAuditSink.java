@@ -0,0 +1,116 @@
+package org.sinytra.adapter.patch.audit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes audit events as one JSON object per line. Events are queued and written in batches by a background thread,
+ * so recording never waits for IO. Events are dropped if the queue is full.
+ */
+public class JsonlPatchAuditSink implements PatchAuditSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger("JsonlPatchAuditSink");
+    private static final Gson GSON = new Gson();
+    private static final int QUEUE_CAPACITY = 16384;
+    private static final int BATCH_SIZE = 512;
+
+    private final BlockingQueue<PatchAuditEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final Writer writer;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public JsonlPatchAuditSink(Path path) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        this.thread = new Thread(this::run, "Adapter Patch Audit");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void accept(PatchAuditEvent event) {
+        if (this.closed || !this.queue.offer(event)) {
+            this.dropped.increment();
+        }
+    }
+
+    private void run() {
+        List<PatchAuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!this.closed || !this.queue.isEmpty()) {
+                PatchAuditEvent first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch, BATCH_SIZE - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.error("Error writing patch audit journal", e);
+        }
+    }
+
+    private void writeBatch(List<PatchAuditEvent> batch) throws IOException {
+        for (PatchAuditEvent event : batch) {
+            this.writer.write(GSON.toJson(toJson(event)));
+            this.writer.write('\n');
+        }
+        this.writer.flush();
+    }
+
+    private static JsonObject toJson(PatchAuditEvent event) {
+        JsonObject json = new JsonObject();
+        json.addProperty("time", event.timestamp());
+        json.addProperty("action", event.action());
+        json.addProperty("owner", event.owner());
+        if (event.method() != null) {
+            json.addProperty("method", event.method());
+        }
+        if (!event.details().isEmpty()) {
+            JsonArray details = new JsonArray();
+            event.details().forEach(details::add);
+            json.add("details", details);
+        }
+        return json;
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            this.writer.close();
+        } catch (IOException e) {
+            LOGGER.error("Error closing patch audit journal", e);
+        }
+        if (this.dropped.sum() > 0) {
+            LOGGER.warn("Dropped {} patch audit events", this.dropped.sum());
+        }
+    }
+}
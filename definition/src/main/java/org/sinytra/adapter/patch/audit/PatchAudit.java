@@ -0,0 +1,53 @@
+package org.sinytra.adapter.patch.audit;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point for recording patch changes. Events are discarded until a sink is installed, without formatting any
+ * of their details.
+ */
+public final class PatchAudit {
+    private static volatile PatchAuditSink sink = PatchAuditSink.NOOP;
+
+    /**
+     * Installs a sink, closing the previously installed one.
+     */
+    public static synchronized void setSink(PatchAuditSink newSink) {
+        PatchAuditSink previous = sink;
+        sink = newSink;
+        if (previous != newSink) {
+            previous.close();
+        }
+    }
+
+    public static PatchAuditSink getSink() {
+        return sink;
+    }
+
+    public static boolean isEnabled() {
+        return sink != PatchAuditSink.NOOP;
+    }
+
+    /**
+     * Records a change to a class or, when a method name is given, to a method of the class.
+     * Callers on hot paths should check {@link #isEnabled()} first to avoid allocating the details.
+     */
+    public static void record(String action, String owner, @Nullable String methodName, @Nullable String methodDesc, Object... details) {
+        PatchAuditSink current = sink;
+        if (current == PatchAuditSink.NOOP) {
+            return;
+        }
+        // Details are converted eagerly, as the objects may be modified by the time they are written
+        List<String> values = new ArrayList<>(details.length);
+        for (Object detail : details) {
+            values.add(String.valueOf(detail));
+        }
+        String method = methodName != null ? methodName + (methodDesc != null ? methodDesc : "") : null;
+        current.accept(new PatchAuditEvent(System.currentTimeMillis(), action, owner, method, values));
+    }
+
+    private PatchAudit() {}
+}
@@ -0,0 +1,16 @@
+package org.sinytra.adapter.patch.audit;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A single change made by a patch.
+ *
+ * @param timestamp time of the change in milliseconds since the epoch
+ * @param action    short identifier of the kind of change
+ * @param owner     internal name of the modified class
+ * @param method    name and descriptor of the modified method, if any
+ * @param details   action specific values
+ */
+public record PatchAuditEvent(long timestamp, String action, String owner, @Nullable String method, List<String> details) {}
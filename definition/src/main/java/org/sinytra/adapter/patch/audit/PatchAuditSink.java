@@ -0,0 +1,16 @@
+package org.sinytra.adapter.patch.audit;
+
+public interface PatchAuditSink extends AutoCloseable {
+    PatchAuditSink NOOP = new PatchAuditSink() {
+        @Override
+        public void accept(PatchAuditEvent event) {}
+
+        @Override
+        public void close() {}
+    };
+
+    void accept(PatchAuditEvent event);
+
+    @Override
+    void close();
+}
@@ -5,39 +5,47 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+import org.sinytra.adapter.patch.jfr.JarGenerationEvent;
+import org.sinytra.adapter.patch.util.FrameComputingClassWriter;
+import org.sinytra.adapter.patch.util.provider.MixinClassLookup;
 import org.spongepowered.asm.util.Constants;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.jar.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BytecodeFixerJarGenerator {
     private static final long ZIP_TIME = 318211200000L;
     private static final String MIXIN_CONFIG_NAME = "adapter.mixins.json";
     private static final String PACAKGE = "dev/su5ed/sinytra/connector/adapter/fieldtypepatch/mixin";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Attributes.Name CONTENT_HASH = new Attributes.Name("Adapter-Content-Hash");
 
-    private final Map<String, ClassNode> generatedClasses = new HashMap<>();
+    private final Map<String, ClassNode> generatedClasses = new ConcurrentHashMap<>();
+    // Classes of a previously generated jar, only parsed when requested by a patch
+    private final Map<String, byte[]> existingClasses = new ConcurrentHashMap<>();
+    // Members of existing classes at the time they were parsed. Generated classes only ever gain members
+    private final Map<String, Set<String>> existingMembers = new ConcurrentHashMap<>();
 
     public void loadExisting(Path path) {
         try (JarInputStream jis = new JarInputStream(Files.newInputStream(path))) {
             JarEntry entry;
             while ((entry = jis.getNextJarEntry()) != null) {
                 if (entry.getName().endsWith(".class")) {
-                    byte[] bytes = jis.readAllBytes();
-                    ClassReader reader = new ClassReader(bytes);
-                    ClassNode node = new ClassNode();
-                    reader.accept(node, 0);
-                    this.generatedClasses.put(node.name, node);
+                    String name = entry.getName().substring(0, entry.getName().length() - ".class".length());
+                    this.existingClasses.put(name, jis.readAllBytes());
                 }
             }
         } catch (IOException e) {
@@ -46,33 +54,58 @@ public class BytecodeFixerJarGenerator {
     }
 
     public boolean save(Path path, Attributes additionalAttributes) {
-        if (this.generatedClasses.isEmpty()) {
+        return save(path, additionalAttributes, new InheritanceHandler(MixinClassLookup.INSTANCE));
+    }
+
+    /**
+     * Saves generated classes to a jar, resolving class hierarchies for frame computation through the given handler.
+     */
+    public boolean save(Path path, Attributes additionalAttributes, InheritanceHandler inheritanceHandler) {
+        JarGenerationEvent event = new JarGenerationEvent();
+        event.begin();
+        boolean written = writeJar(path, additionalAttributes, inheritanceHandler);
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.classCount = this.generatedClasses.size();
+            event.written = written;
+            event.commit();
+        }
+        return written;
+    }
+
+    private boolean writeJar(Path path, Attributes additionalAttributes, InheritanceHandler inheritanceHandler) {
+        SortedSet<String> names = new TreeSet<>(this.existingClasses.keySet());
+        names.addAll(this.generatedClasses.keySet());
+        if (names.isEmpty()) {
             return false;
         }
 
+        Map<String, byte[]> classes = names.parallelStream().collect(Collectors.toConcurrentMap(Function.identity(), name -> getClassBytes(name, inheritanceHandler)));
+        byte[] mixinConfig = generateMixinConfig(names);
+        String contentHash = computeContentHash(names, classes, mixinConfig, additionalAttributes);
+        if (Files.exists(path) && contentHash.equals(readContentHash(path))) {
+            return true;
+        }
+
         Manifest manifest = new Manifest();
         manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
         manifest.getMainAttributes().putValue(Constants.ManifestAttributes.MIXINCONFIGS, MIXIN_CONFIG_NAME);
         manifest.getMainAttributes().putAll(additionalAttributes);
+        manifest.getMainAttributes().put(CONTENT_HASH, contentHash);
 
-        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(path.toFile()), manifest)) {
-            for (Map.Entry<String, ClassNode> entry : this.generatedClasses.entrySet()) {
-                JarEntry jarEntry = new JarEntry(entry.getKey() + ".class");
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(path), manifest)) {
+            for (String name : names) {
+                JarEntry jarEntry = new JarEntry(name + ".class");
                 jarEntry.setTime(ZIP_TIME);
                 jos.putNextEntry(jarEntry);
-
-                ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
-                entry.getValue().accept(cw);
-                byte[] bytes = cw.toByteArray();
-                jos.write(bytes);
-
+                jos.write(classes.get(name));
                 jos.closeEntry();
             }
 
             JarEntry configEntry = new JarEntry(MIXIN_CONFIG_NAME);
             configEntry.setTime(ZIP_TIME);
             jos.putNextEntry(configEntry);
-            jos.write(generateMixinConfig());
+            jos.write(mixinConfig);
             jos.closeEntry();
             return true;
         } catch (IOException e) {
@@ -81,10 +114,64 @@ public class BytecodeFixerJarGenerator {
     }
 
     public ClassNode getOrCreateClass(String name, Function<String, ClassNode> generator) {
-        return this.generatedClasses.computeIfAbsent(PACAKGE + "/" + name, generator);
+        return this.generatedClasses.computeIfAbsent(PACAKGE + "/" + name, className -> {
+            byte[] existing = this.existingClasses.get(className);
+            if (existing != null) {
+                ClassNode node = new ClassNode();
+                new ClassReader(existing).accept(node, 0);
+                this.existingMembers.put(className, getMembers(node));
+                return node;
+            }
+            return generator.apply(className);
+        });
+    }
+
+    private byte[] getClassBytes(String name, InheritanceHandler inheritanceHandler) {
+        ClassNode node = this.generatedClasses.get(name);
+        byte[] existing = this.existingClasses.get(name);
+        Set<String> existingMembers = this.existingMembers.getOrDefault(name, Set.of());
+        // Copy unmodified classes as-is
+        if (existing != null && (node == null || getMembers(node).equals(existingMembers))) {
+            return existing;
+        }
+        // Methods read from an existing jar already have valid frames
+        return FrameComputingClassWriter.write(node, m -> !existingMembers.contains(m.name + m.desc), inheritanceHandler);
+    }
+
+    private static Set<String> getMembers(ClassNode node) {
+        return Stream.concat(node.fields.stream().map(f -> f.name + ":" + f.desc), node.methods.stream().map(m -> m.name + m.desc))
+            .collect(Collectors.toSet());
+    }
+
+    private static String computeContentHash(SortedSet<String> names, Map<String, byte[]> classes, byte[] mixinConfig, Attributes additionalAttributes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        for (String name : names) {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update(classes.get(name));
+        }
+        digest.update(mixinConfig);
+        additionalAttributes.entrySet().stream()
+            .map(e -> e.getKey() + "=" + e.getValue())
+            .sorted()
+            .forEach(s -> digest.update(s.getBytes(StandardCharsets.UTF_8)));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String readContentHash(Path path) {
+        try (JarFile jarFile = new JarFile(path.toFile())) {
+            Manifest manifest = jarFile.getManifest();
+            return manifest != null ? manifest.getMainAttributes().getValue(CONTENT_HASH) : null;
+        } catch (IOException e) {
+            return null;
+        }
     }
 
-    private byte[] generateMixinConfig() {
+    private byte[] generateMixinConfig(Collection<String> names) {
         JsonObject json = new JsonObject();
         json.addProperty("required", true);
         json.addProperty("minVersion", "0.8.5");
@@ -92,7 +179,7 @@ public class BytecodeFixerJarGenerator {
         json.addProperty("compatibilityLevel", "JAVA_17");
 
         JsonArray array = new JsonArray();
-        for (String name : this.generatedClasses.keySet()) {
+        for (String name : names) {
             String shortName = name.replace(PACAKGE + "/", "");
             array.add(shortName.replace('/', '.'));
         }
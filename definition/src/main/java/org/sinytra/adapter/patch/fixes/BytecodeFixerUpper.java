@@ -6,8 +6,11 @@ import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
 import org.sinytra.adapter.patch.api.GlobalReferenceMapper;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class BytecodeFixerUpper {
     public static final List<TypeAdapterProvider> DEFAULT_PROVIDERS = List.of(
@@ -15,8 +18,10 @@ public final class BytecodeFixerUpper {
     );
 
     private final Map<String, Map<String, Pair<Type, Type>>> newFieldTypes;
-    private final List<TypeAdapter> fieldTypeAdapters;
+    private final Map<AdapterKey, TypeAdapter> fieldTypeAdapters;
     private final List<TypeAdapterProvider> dynamicTypeAdapters;
+    // Providers are expected to return the same result for the same types
+    private final Map<AdapterKey, Optional<TypeAdapter>> dynamicTypeAdapterCache = new ConcurrentHashMap<>();
     private final BytecodeFixerJarGenerator generator;
 
     public BytecodeFixerUpper(Map<String, Map<String, Pair<Type, Type>>> newFieldTypes, List<TypeAdapter> fieldTypeAdapters) {
@@ -32,7 +37,11 @@ public final class BytecodeFixerUpper {
             builder.put(owner, fieldsBuilder.build());
         });
         this.newFieldTypes = builder.build();
-        this.fieldTypeAdapters = fieldTypeAdapters;
+        Map<AdapterKey, TypeAdapter> adapters = new HashMap<>();
+        for (TypeAdapter adapter : fieldTypeAdapters) {
+            adapters.putIfAbsent(new AdapterKey(adapter.from(), adapter.to()), adapter);
+        }
+        this.fieldTypeAdapters = Map.copyOf(adapters);
         this.dynamicTypeAdapters = dynamicTypeAdapters;
         this.generator = new BytecodeFixerJarGenerator();
     }
@@ -41,6 +50,13 @@ public final class BytecodeFixerUpper {
         return this.generator;
     }
 
+    /**
+     * {@return whether any field of the given class changed its type}
+     */
+    public boolean hasFieldTypeChanges(String owner) {
+        return this.newFieldTypes.containsKey(owner);
+    }
+
     public Pair<Type, Type> getFieldTypeChange(String owner, String name) {
         Map<String, Pair<Type, Type>> fields = this.newFieldTypes.get(owner);
         return fields != null ? fields.get(name) : null;
@@ -48,17 +64,23 @@ public final class BytecodeFixerUpper {
 
     @Nullable
     public TypeAdapter getTypeAdapter(Type from, Type to) {
-        for (TypeAdapter typeAdapter : this.fieldTypeAdapters) {
-            if (typeAdapter.from().equals(from) && typeAdapter.to().equals(to)) {
-                return typeAdapter;
-            }
+        AdapterKey key = new AdapterKey(from, to);
+        TypeAdapter adapter = this.fieldTypeAdapters.get(key);
+        if (adapter != null) {
+            return adapter;
         }
+        return this.dynamicTypeAdapterCache.computeIfAbsent(key, this::provideTypeAdapter).orElse(null);
+    }
+
+    private Optional<TypeAdapter> provideTypeAdapter(AdapterKey key) {
         for (TypeAdapterProvider dynamicAdapter : this.dynamicTypeAdapters) {
-            TypeAdapter adapter = dynamicAdapter.provide(from, to);
+            TypeAdapter adapter = dynamicAdapter.provide(key.from(), key.to());
             if (adapter != null) {
-                return adapter;
+                return Optional.of(adapter);
             }
         }
-        return null;
+        return Optional.empty();
     }
+
+    private record AdapterKey(Type from, Type to) {}
 }
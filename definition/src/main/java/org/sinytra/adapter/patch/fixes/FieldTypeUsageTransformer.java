@@ -11,6 +11,7 @@ import org.sinytra.adapter.patch.api.ClassTransform;
 import org.sinytra.adapter.patch.api.GlobalReferenceMapper;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.util.AdapterUtil;
 import org.slf4j.Logger;
@@ -36,6 +37,7 @@ public class FieldTypeUsageTransformer implements ClassTransform {
                         Pair<Type, Type> updatedTypes = bfu.getFieldTypeChange(targetType.getInternalName(), GlobalReferenceMapper.remapReference(field.name));
                         if (updatedTypes != null) {
                             field.desc = updatedTypes.getSecond().getDescriptor();
+                            context.changes().markFieldModified(field);
                             // Update shadow field usages
                             classUpdatedTypes.put(field.name, updatedTypes);
                         }
@@ -44,53 +46,74 @@ public class FieldTypeUsageTransformer implements ClassTransform {
             }
             // Update field insn types
             for (MethodNode method : classNode.methods) {
+                boolean usesUpdatedClassField = false;
+                boolean methodModified = false;
                 for (AbstractInsnNode insn : method.instructions) {
                     if (insn instanceof FieldInsnNode finsn) {
                         // Update usages of fields that belong to this class
                         if (finsn.owner.equals(classNode.name)) {
                             Pair<Type, Type> classUpdatedType = classUpdatedTypes.get(finsn.name);
                             if (classUpdatedType != null) {
-                                applied |= runFieldFix(bfu, classUpdatedType, method, finsn);
+                                usesUpdatedClassField = true;
+                                methodModified |= runFieldFix(bfu, classUpdatedType, classNode, method, finsn);
                                 continue;
                             }
                         }
 
                         // Update used fields of other classes
-                        Pair<Type, Type> updatedTypes = bfu.getFieldTypeChange(finsn.owner, GlobalReferenceMapper.remapReference(finsn.name));
-                        if (updatedTypes != null) {
-                            applied |= runFieldFix(bfu, updatedTypes, method, finsn);
+                        if (bfu.hasFieldTypeChanges(finsn.owner)) {
+                            Pair<Type, Type> updatedTypes = bfu.getFieldTypeChange(finsn.owner, GlobalReferenceMapper.remapReference(finsn.name));
+                            if (updatedTypes != null) {
+                                methodModified |= runFieldFix(bfu, updatedTypes, classNode, method, finsn);
+                            }
                         }
                     }
                 }
-                // Search for method calls made on modified class fields and update their owners to match the new field types
-                List<Pair<FieldInsnNode, MethodInsnNode>> results = MethodCallAnalyzer.analyzeMethod(method, (m, v) -> m.getOpcode() == Opcodes.INVOKEVIRTUAL, (insn, values) -> {
-                    if (!values.isEmpty()) {
-                        AbstractInsnNode valueInsn = MethodCallAnalyzer.getSingleInsn(values, 0);
-                        if (valueInsn instanceof FieldInsnNode finsn) {
-                            return Pair.of(finsn, insn);
-                        }
-                    }
-                    return null;
-                });
-                for (Pair<FieldInsnNode, MethodInsnNode> insn : results) {
-                    FieldInsnNode finsn = insn.getFirst();
-                    if (finsn.owner.equals(classNode.name)) {
-                        Pair<Type, Type> classUpdatedType = classUpdatedTypes.get(finsn.name);
-                        if (classUpdatedType != null) {
-                            insn.getSecond().owner = classUpdatedType.getSecond().getInternalName();
-                            applied = true;
-                        }
-                    }
+                // Method calls can only be updated on fields of this class accessed in the same method
+                if (usesUpdatedClassField) {
+                    methodModified |= updateFieldMethodCalls(classNode, method, classUpdatedTypes);
+                }
+                if (methodModified) {
+                    context.changes().markMethodModified(method);
+                    applied = true;
                 }
             }
         }
         return applied ? Patch.Result.APPLY : Patch.Result.PASS;
     }
 
-    private static boolean runFieldFix(BytecodeFixerUpper bfu, Pair<Type, Type> updatedTypes, MethodNode method, FieldInsnNode finsn) {
+    private static boolean updateFieldMethodCalls(ClassNode classNode, MethodNode method, Map<String, Pair<Type, Type>> classUpdatedTypes) {
+        boolean applied = false;
+        // Search for method calls made on modified class fields and update their owners to match the new field types
+        List<Pair<FieldInsnNode, MethodInsnNode>> results = MethodCallAnalyzer.analyzeMethod(method, (m, v) -> m.getOpcode() == Opcodes.INVOKEVIRTUAL, (insn, values) -> {
+            if (!values.isEmpty()) {
+                AbstractInsnNode valueInsn = MethodCallAnalyzer.getSingleInsn(values, 0);
+                if (valueInsn instanceof FieldInsnNode finsn) {
+                    return Pair.of(finsn, insn);
+                }
+            }
+            return null;
+        });
+        for (Pair<FieldInsnNode, MethodInsnNode> insn : results) {
+            FieldInsnNode finsn = insn.getFirst();
+            if (finsn.owner.equals(classNode.name)) {
+                Pair<Type, Type> classUpdatedType = classUpdatedTypes.get(finsn.name);
+                if (classUpdatedType != null) {
+                    insn.getSecond().owner = classUpdatedType.getSecond().getInternalName();
+                    applied = true;
+                }
+            }
+        }
+        return applied;
+    }
+
+    private static boolean runFieldFix(BytecodeFixerUpper bfu, Pair<Type, Type> updatedTypes, ClassNode classNode, MethodNode method, FieldInsnNode finsn) {
         TypeAdapter typeAdapter = bfu.getTypeAdapter(updatedTypes.getSecond(), updatedTypes.getFirst());
         if (typeAdapter != null) {
-            LOGGER.info("Running fixup for field {}.{}{} in method {}{}", finsn.owner, finsn.name, finsn.desc, method.name, method.desc);
+            if (PatchAudit.isEnabled()) {
+                PatchAudit.record("fix_field_usage", classNode.name, method.name, method.desc, finsn.owner, finsn.name, finsn.desc);
+            }
+            LOGGER.debug("Running fixup for field {}.{}{} in method {}{}", finsn.owner, finsn.name, finsn.desc, method.name, method.desc);
             finsn.desc = updatedTypes.getSecond().getDescriptor();
             typeAdapter.apply(method.instructions, finsn);
             return true;
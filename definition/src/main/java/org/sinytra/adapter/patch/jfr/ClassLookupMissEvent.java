@@ -0,0 +1,25 @@
+package org.sinytra.adapter.patch.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.sinytra.adapter.ClassLookupMiss")
+@Label("Class Lookup Miss")
+@Description("Class that could not be found by a class lookup")
+@Category({"Adapter", "Analysis"})
+@StackTrace(false)
+public class ClassLookupMissEvent extends Event {
+    @Label("Lookup")
+    public String lookup;
+
+    @Label("Class Name")
+    public String className;
+
+    public static void emit(Object lookup, String className) {
+        ClassLookupMissEvent event = new ClassLookupMissEvent();
+        if (event.shouldCommit()) {
+            event.lookup = lookup.getClass().getName();
+            event.className = className;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.sinytra.adapter.patch.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.sinytra.adapter.JarGeneration")
+@Label("Fixer Jar Generation")
+@Description("Writing of the generated bytecode fixer jar")
+@Category({"Adapter", "Patching"})
+@StackTrace(false)
+public class JarGenerationEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Class Count")
+    public int classCount;
+
+    @Label("Written")
+    public boolean written;
+}
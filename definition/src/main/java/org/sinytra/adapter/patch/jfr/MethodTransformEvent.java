@@ -0,0 +1,22 @@
+package org.sinytra.adapter.patch.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.sinytra.adapter.MethodTransform")
+@Label("Method Transform")
+@Description("Invocation of a method transform on a mixin method")
+@Category({"Adapter", "Patching"})
+@StackTrace(false)
+public class MethodTransformEvent extends Event {
+    @Label("Mixin Class")
+    public String mixinClass;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Transform")
+    public String transform;
+
+    @Label("Result")
+    public String result;
+}
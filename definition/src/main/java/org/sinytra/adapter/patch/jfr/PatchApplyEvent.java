@@ -0,0 +1,19 @@
+package org.sinytra.adapter.patch.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.sinytra.adapter.PatchApply")
+@Label("Patch Apply")
+@Description("Application of a patch set to a mixin class through PatchInstance.applyAll or PatchIndex.apply")
+@Category({"Adapter", "Patching"})
+@StackTrace(false)
+public class PatchApplyEvent extends Event {
+    @Label("Mixin Class")
+    public String mixinClass;
+
+    @Label("Patch Count")
+    public int patchCount;
+
+    @Label("Result")
+    public String result;
+}
@@ -0,0 +1,23 @@
+package org.sinytra.adapter.patch.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.sinytra.adapter.TargetResolution")
+@Label("Injection Target Resolution")
+@Description("Lookup of the target method of an injector")
+@Category({"Adapter", "Analysis"})
+@StackTrace(false)
+public class TargetResolutionEvent extends Event {
+    @Label("Owner")
+    public String owner;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Clean")
+    @Description("Whether the target was resolved in the clean environment")
+    public boolean clean;
+
+    @Label("Found")
+    public boolean found;
+}
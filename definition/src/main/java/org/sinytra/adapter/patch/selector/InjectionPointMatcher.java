@@ -27,9 +27,18 @@ public record InjectionPointMatcher(@Nullable String value, TargetMatcher target
         return (this.value == null || this.value.equals(value)) && this.target.test(target);
     }
 
+    /**
+     * {@return the method name for qualifier targets, or the full target string otherwise}
+     */
+    public String targetKey() {
+        return this.target.key();
+    }
+
     interface TargetMatcher extends Predicate<String> {
         String target();
 
+        String key();
+
         static TargetMatcher create(String target) {
             return Optional.of(target)
                 .<TargetMatcher>flatMap(str -> MethodQualifier.create(str)
@@ -40,6 +49,11 @@ public record InjectionPointMatcher(@Nullable String value, TargetMatcher target
     }
 
     private record SimpleTargetMatcher(String target) implements TargetMatcher {
+        @Override
+        public String key() {
+            return this.target;
+        }
+
         @Override
         public boolean test(String s) {
             return this.target.equals(s);
@@ -47,6 +61,11 @@ public record InjectionPointMatcher(@Nullable String value, TargetMatcher target
     }
 
     private record MethodQualifierMatcher(String target, MethodQualifier qualifier) implements TargetMatcher {
+        @Override
+        public String key() {
+            return this.qualifier.name();
+        }
+
         @Override
         public boolean test(String s) {
             return MethodQualifier.create(s).map(this.qualifier::matches).orElse(false);
@@ -20,6 +20,10 @@ public class MethodMatcher {
         this.desc = descIndex == -1 ? null : method.substring(descIndex);
     }
 
+    public String name() {
+        return this.name;
+    }
+
     public boolean matches(String name, String desc) {
         return this.name.equals(name) && (this.desc == null || desc == null || this.desc.equals(desc));
     }
@@ -38,6 +38,13 @@ public class PatchSerialization {
         });
     }
 
+    public static <T> T serialize(Patch patch, DynamicOps<T> dynamicOps) {
+        DataResult<T> result = PATCH_INSTANCE_CODEC.encodeStart(dynamicOps, patch);
+        return result.getOrThrow(false, s -> {
+            throw new RuntimeException("Error serializing patch: " + s);
+        });
+    }
+
     public static <T> List<Patch> deserialize(T patches, DynamicOps<T> dynamicOps) {
         return PATCH_INSTANCE_CODEC.listOf().decode(dynamicOps, patches).getOrThrow(false, s -> {
             throw new RuntimeException("Error deserializing patches: " + s);
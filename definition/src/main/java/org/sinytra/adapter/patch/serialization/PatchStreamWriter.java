@@ -0,0 +1,49 @@
+package org.sinytra.adapter.patch.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.serialization.JsonOps;
+import org.sinytra.adapter.patch.api.Patch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * Writes a JSON patch list incrementally, so that patches can be discarded as soon as they're written.
+ * The output is equivalent to serializing the whole list at once using {@link PatchSerialization}.
+ */
+public class PatchStreamWriter implements Closeable {
+    private final Gson gson;
+    private final JsonWriter writer;
+    private int count;
+
+    public PatchStreamWriter(Writer writer) throws IOException {
+        this.gson = new GsonBuilder().disableHtmlEscaping().create();
+        this.writer = this.gson.newJsonWriter(writer);
+        this.writer.beginArray();
+    }
+
+    public void write(Patch patch) {
+        JsonElement json = PatchSerialization.serialize(patch, JsonOps.INSTANCE);
+        this.gson.toJson(json, this.writer);
+        this.count++;
+    }
+
+    public void write(Collection<? extends Patch> patches) {
+        patches.forEach(this::write);
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.endArray();
+        this.writer.close();
+    }
+}
@@ -9,6 +9,7 @@ import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.MethodTransform;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.slf4j.Logger;
 
 import static org.sinytra.adapter.patch.PatchInstance.MIXINPATCH;
@@ -32,7 +33,10 @@ public record ChangeModifiedVariableIndex(int start, int offset) implements Meth
             .map(handle -> {
                 int index = handle.get();
                 int newIndex = index >= this.start ? index + this.offset : index;
-                LOGGER.info(MIXINPATCH, "Updating variable index of variable modifier method {}.{} to {}", classNode.name, methodNode.name, newIndex);
+                if (PatchAudit.isEnabled()) {
+                    PatchAudit.record("modify_variable_index", classNode.name, methodNode.name, methodNode.desc, newIndex);
+                }
+                LOGGER.debug(MIXINPATCH, "Updating variable index of variable modifier method {}.{} to {}", classNode.name, methodNode.name, newIndex);
                 handle.set(newIndex);
                 return Patch.Result.APPLY;
             })
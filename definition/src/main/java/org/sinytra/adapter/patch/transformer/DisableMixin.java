@@ -8,6 +8,7 @@ import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.MethodTransform;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.slf4j.Logger;
 
 import static org.sinytra.adapter.patch.PatchInstance.MIXINPATCH;
@@ -24,6 +25,9 @@ public class DisableMixin implements MethodTransform {
 
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("disable_method", classNode.name, methodNode.name, methodNode.desc);
+        }
         LOGGER.debug(MIXINPATCH, "Removing mixin method {}.{}{}", classNode.name, methodNode.name, methodNode.desc);
         context.postApply(() -> classNode.methods.remove(methodNode));
         return Patch.Result.APPLY;
@@ -6,6 +6,7 @@ import org.objectweb.asm.Handle;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.*;
+import org.sinytra.adapter.patch.ClassChanges;
 import org.sinytra.adapter.patch.analysis.LocalVarAnalyzer;
 import org.sinytra.adapter.patch.analysis.LocalVariableLookup;
 import org.sinytra.adapter.patch.api.*;
@@ -41,7 +42,7 @@ public record ExtractMixin(String targetClass, boolean remove) implements Method
         String owner = Objects.requireNonNullElse(qualifier.internalOwnerName(), this.targetClass);
         boolean isInherited = context.environment().inheritanceHandler().isClassInherited(this.targetClass, owner);
         Candidates candidates = findCandidates(classNode, methodNode);
-        if (!candidates.canMove(classNode, isInherited)) {
+        if (!candidates.canMove(classNode, isInherited, context.changes())) {
             return Patch.Result.PASS;
         }
 
@@ -68,6 +69,8 @@ public record ExtractMixin(String targetClass, boolean remove) implements Method
         }
 
         candidates.handleUpdates().forEach(c -> c.accept(generatedTarget));
+        // Lambda handles are updated in the original methods as well
+        candidates.methods().forEach(context.changes()::markMethodModified);
 
         // Take care of captured locals
         Patch.Result result = Patch.Result.PASS;
@@ -83,12 +86,12 @@ public record ExtractMixin(String targetClass, boolean remove) implements Method
     }
 
     record Candidates(List<MethodNode> methods, List<Consumer<ClassNode>> handleUpdates) {
-        public boolean canMove(ClassNode classNode, boolean isInherited) {
+        public boolean canMove(ClassNode classNode, boolean isInherited, ClassChanges changes) {
             List<Runnable> accessFixes = new ArrayList<>();
             for (MethodNode methodNode : this.methods) {
                 for (AbstractInsnNode insn : methodNode.instructions) {
-                    if (insn instanceof FieldInsnNode finsn && finsn.owner.equals(classNode.name) && !isInheritedField(classNode, finsn, isInherited, accessFixes)
-                        || insn instanceof MethodInsnNode minsn && minsn.owner.equals(classNode.name) && !isInheritedMethod(classNode, minsn, isInherited, accessFixes)
+                    if (insn instanceof FieldInsnNode finsn && finsn.owner.equals(classNode.name) && !isInheritedField(classNode, finsn, isInherited, accessFixes, changes)
+                        || insn instanceof MethodInsnNode minsn && minsn.owner.equals(classNode.name) && !isInheritedMethod(classNode, minsn, isInherited, accessFixes, changes)
                     ) {
                         // We can't move methods that access their class instance
                         return false;
@@ -133,7 +136,7 @@ public record ExtractMixin(String targetClass, boolean remove) implements Method
         }
     }
 
-    private static boolean isInheritedField(ClassNode cls, FieldInsnNode finsn, boolean isTargetInherited, List<Runnable> accessUpdates) {
+    private static boolean isInheritedField(ClassNode cls, FieldInsnNode finsn, boolean isTargetInherited, List<Runnable> accessUpdates, ClassChanges changes) {
         FieldNode field = cls.fields.stream()
             .filter(f -> f.name.equals(finsn.name))
             .findFirst()
@@ -143,14 +146,17 @@ public record ExtractMixin(String targetClass, boolean remove) implements Method
                 return true;
             }
             if (isTargetInherited) {
-                accessUpdates.add(() -> field.access = fixAccess(field.access));
+                accessUpdates.add(() -> {
+                    field.access = fixAccess(field.access);
+                    changes.markFieldModified(field);
+                });
                 return true;
             }
         }
         return false;
     }
 
-    private static boolean isInheritedMethod(ClassNode cls, MethodInsnNode minsn, boolean isTargetInherited, List<Runnable> accessUpdates) {
+    private static boolean isInheritedMethod(ClassNode cls, MethodInsnNode minsn, boolean isTargetInherited, List<Runnable> accessUpdates, ClassChanges changes) {
         MethodNode method = cls.methods.stream()
             .filter(m -> m.name.equals(minsn.name) && m.desc.equals(minsn.desc))
             .findFirst()
@@ -161,7 +167,10 @@ public record ExtractMixin(String targetClass, boolean remove) implements Method
                 return true;
             }
             if (isTargetInherited) {
-                accessUpdates.add(() -> method.access = fixAccess(method.access));
+                accessUpdates.add(() -> {
+                    method.access = fixAccess(method.access);
+                    changes.markMethodModified(method);
+                });
                 return true;
             }
         }
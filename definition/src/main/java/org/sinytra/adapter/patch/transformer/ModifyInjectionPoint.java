@@ -10,6 +10,7 @@ import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.MethodTransform;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.fixes.MethodUpgrader;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
@@ -48,7 +49,10 @@ public record ModifyInjectionPoint(@Nullable String value, String target, boolea
             AnnotationValueHandle<String> handle = annotation.<String>getValue("value").orElseThrow(() -> new IllegalArgumentException("Missing value handle"));
             handle.set(this.value);
         }
-        LOGGER.info(MIXINPATCH, "Changing mixin method target {}.{} to {}", classNode.name, methodNode.name, this.target);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("modify_injection_point", classNode.name, methodNode.name, methodNode.desc, this.target);
+        }
+        LOGGER.debug(MIXINPATCH, "Changing mixin method target {}.{} to {}", classNode.name, methodNode.name, this.target);
         AnnotationValueHandle<String> handle = annotation.<String>getValue("target").orElse(null);
         if (handle != null) {
             String original = handle.get();
@@ -6,6 +6,7 @@ import com.mojang.serialization.codecs.RecordCodecBuilder;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.fixes.MethodUpgrader;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
@@ -34,7 +35,10 @@ public record ModifyInjectionTarget(List<String> replacementMethods, Action acti
 
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
-        LOGGER.info(MIXINPATCH, "Redirecting mixin {}.{} to {}", classNode.name, methodNode.name, this.replacementMethods);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("modify_injection_target", classNode.name, methodNode.name, methodNode.desc, this.replacementMethods);
+        }
+        LOGGER.debug(MIXINPATCH, "Redirecting mixin {}.{} to {}", classNode.name, methodNode.name, this.replacementMethods);
         AnnotationHandle annotation = methodContext.methodAnnotation();
 
         if (annotation.matchesDesc(MixinConstants.OVERWRITE)) {
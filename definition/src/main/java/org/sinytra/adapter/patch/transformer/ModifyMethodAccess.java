@@ -7,6 +7,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.*;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
@@ -39,7 +40,10 @@ public record ModifyMethodAccess(List<AccessChange> changes) implements MethodTr
         for (AccessChange change : this.changes) {
             if (change.add) {
                 if ((methodNode.access & change.modifier) == 0) {
-                    LOGGER.info(MIXINPATCH, "Adding access modifier {} to method {}.{}{}", change.modifier, classNode.name, methodNode.name, methodNode.desc);
+                    if (PatchAudit.isEnabled()) {
+                        PatchAudit.record("add_access", classNode.name, methodNode.name, methodNode.desc, change.modifier);
+                    }
+                    LOGGER.debug(MIXINPATCH, "Adding access modifier {} to method {}.{}{}", change.modifier, classNode.name, methodNode.name, methodNode.desc);
                     methodNode.access |= change.modifier;
                     result = Patch.Result.APPLY;
                     if (change.modifier == Opcodes.ACC_STATIC && methodContext.methodAnnotation().matchesDesc(MixinConstants.INJECT)) {
@@ -57,7 +61,10 @@ public record ModifyMethodAccess(List<AccessChange> changes) implements MethodTr
                 }
             } else {
                 if ((methodNode.access & change.modifier) != 0) {
-                    LOGGER.info(MIXINPATCH, "Removing access modifier {} from method {}.{}{}", change.modifier, classNode.name, methodNode.name, methodNode.desc);
+                    if (PatchAudit.isEnabled()) {
+                        PatchAudit.record("remove_access", classNode.name, methodNode.name, methodNode.desc, change.modifier);
+                    }
+                    LOGGER.debug(MIXINPATCH, "Removing access modifier {} from method {}.{}{}", change.modifier, classNode.name, methodNode.name, methodNode.desc);
                     methodNode.access &= ~change.modifier;
                     if (change.modifier == Opcodes.ACC_STATIC) {
                         LocalVariableNode firstParam = methodNode.localVariables.stream().filter(lvn -> lvn.index == 0).findFirst().orElseThrow();
@@ -13,6 +13,7 @@ import org.sinytra.adapter.patch.PatchInstance;
 import org.sinytra.adapter.patch.analysis.LocalVariableLookup;
 import org.sinytra.adapter.patch.analysis.params.SimpleParamsDiffSnapshot;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.fixes.BytecodeFixerUpper;
 import org.sinytra.adapter.patch.fixes.TypeAdapter;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
@@ -206,7 +207,10 @@ public record ModifyMethodParams(SimpleParamsDiffSnapshot context, ParamTransfor
             Type toType = newParameterTypes.get(to);
             newParameterTypes.set(from, toType);
             newParameterTypes.set(to, fromType);
-            LOGGER.info(MIXINPATCH, "Swapped parameters at positions {}({}) and {}({}) in {}.{}", from, fromNode.name, to, toNode.name, classNode.name, methodNode.name);
+            if (PatchAudit.isEnabled()) {
+                PatchAudit.record("swap_parameters", classNode.name, methodNode.name, methodNode.desc, from, to);
+            }
+            LOGGER.debug(MIXINPATCH, "Swapped parameters at positions {}({}) and {}({}) in {}.{}", from, fromNode.name, to, toNode.name, classNode.name, methodNode.name);
 
             int fromNewLVT = calculateLVTIndex(newParameterTypes, isNonStatic, from);
             int toNewLVT = calculateLVTIndex(newParameterTypes, isNonStatic, to);
@@ -219,7 +223,10 @@ public record ModifyMethodParams(SimpleParamsDiffSnapshot context, ParamTransfor
         }
 
         if (!this.context.removals().isEmpty()) {
-            LOGGER.info(MIXINPATCH, "Removing parameters {} from method {}.{}", this.context.removals(), classNode.name, methodNode.name);
+            if (PatchAudit.isEnabled()) {
+                PatchAudit.record("remove_parameters", classNode.name, methodNode.name, methodNode.desc, this.context.removals());
+            }
+            LOGGER.debug(MIXINPATCH, "Removing parameters {} from method {}.{}", this.context.removals(), classNode.name, methodNode.name);
         }
         this.context.removals().stream()
             .sorted(Comparator.<Integer>comparingInt(i -> i).reversed())
@@ -227,7 +234,10 @@ public record ModifyMethodParams(SimpleParamsDiffSnapshot context, ParamTransfor
         offsetMoves.forEach(move -> {
             int from = move.getFirst();
             int to = move.getSecond();
-            LOGGER.info(MIXINPATCH, "Moving parameter from index {} to {} in method {}.{}", from, to, classNode.name, methodNode.name);
+            if (PatchAudit.isEnabled()) {
+                PatchAudit.record("move_parameter", classNode.name, methodNode.name, methodNode.desc, from, to);
+            }
+            LOGGER.debug(MIXINPATCH, "Moving parameter from index {} to {} in method {}.{}", from, to, classNode.name, methodNode.name);
             int tempIndex = -999;
             Pair<@Nullable ParameterNode, @Nullable LocalVariableNode> removed = removeLocalVariable(methodNode, from, offset, tempIndex, newParameterTypes);
             if (removed.getFirst() != null) {
@@ -256,7 +266,10 @@ public record ModifyMethodParams(SimpleParamsDiffSnapshot context, ParamTransfor
             .sorted(Comparator.<Pair<Integer, Consumer<InstructionAdapter>>>comparingInt(Pair::getFirst).reversed())
             .forEach(inline -> {
                 int index = inline.getFirst();
-                LOGGER.info(MIXINPATCH, "Inlining parameter {} of method {}.{}", index, classNode.name, methodNode.name);
+                if (PatchAudit.isEnabled()) {
+                    PatchAudit.record("inline_parameter", classNode.name, methodNode.name, methodNode.desc, index);
+                }
+                LOGGER.debug(MIXINPATCH, "Inlining parameter {} of method {}.{}", index, classNode.name, methodNode.name);
                 int replaceIndex = -999 + index;
                 removeLocalVariable(methodNode, index, offset, replaceIndex, newParameterTypes);
                 for (AbstractInsnNode insn : methodNode.instructions) {
@@ -4,6 +4,7 @@ import com.mojang.logging.LogUtils;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.slf4j.Logger;
@@ -31,7 +32,10 @@ public record RedirectAccessor(String value) implements MethodTransform {
         else {
             valueHandle.set(this.value);
         }
-        LOGGER.info(MIXINPATCH, "Redirecting accessor {}.{} to field {}", classNode.name, methodNode.name, this.value);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("redirect_accessor", classNode.name, methodNode.name, methodNode.desc, this.value);
+        }
+        LOGGER.debug(MIXINPATCH, "Redirecting accessor {}.{} to field {}", classNode.name, methodNode.name, this.value);
         return Patch.Result.APPLY;
     }
 }
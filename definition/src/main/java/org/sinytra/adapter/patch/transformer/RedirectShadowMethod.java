@@ -7,6 +7,7 @@ import org.sinytra.adapter.patch.api.ClassTransform;
 import org.sinytra.adapter.patch.api.MixinConstants;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.util.MethodQualifier;
 import org.slf4j.Logger;
@@ -30,10 +31,14 @@ public record RedirectShadowMethod(MethodQualifier original, MethodQualifier rep
             if (this.original.equals(qualifier) && method.visibleAnnotations != null) {
                 for (AnnotationNode methodAnn : method.visibleAnnotations) {
                     if (MixinConstants.SHADOW.equals(methodAnn.desc)) {
-                        LOGGER.info(MIXINPATCH, "Redirecting shadow method {}.{} to {}{}", classNode.name, method.name, this.replacement.name(), this.replacement.desc());
+                        if (PatchAudit.isEnabled()) {
+                            PatchAudit.record("redirect_shadow_method", classNode.name, method.name, method.desc, this.replacement.name(), this.replacement.desc());
+                        }
+                        LOGGER.debug(MIXINPATCH, "Redirecting shadow method {}.{} to {}{}", classNode.name, method.name, this.replacement.name(), this.replacement.desc());
                         method.name = this.replacement.name();
                         method.desc = this.replacement.desc();
-                        patchMethodCalls(classNode);
+                        context.changes().markMethodModified(method);
+                        patchMethodCalls(classNode, context);
                         return Patch.Result.APPLY;
                     }
                 }
@@ -42,13 +47,14 @@ public record RedirectShadowMethod(MethodQualifier original, MethodQualifier rep
         return Patch.Result.PASS;
     }
 
-    private void patchMethodCalls(ClassNode classNode) {
+    private void patchMethodCalls(ClassNode classNode, PatchContext context) {
         for (MethodNode method : classNode.methods) {
             for (AbstractInsnNode insn : method.instructions) {
                 if (insn instanceof MethodInsnNode minsn && minsn.owner.equals(classNode.name) && minsn.name.equals(this.original.name()) && minsn.desc.equals(this.original.desc())) {
                     minsn.name = this.replacement.name();
                     minsn.desc = this.replacement.desc();
                     this.callFixer.accept(minsn, method.instructions);
+                    context.changes().markMethodModified(method);
                 }
             }
         }
@@ -9,6 +9,7 @@ import org.sinytra.adapter.patch.api.ClassTransform;
 import org.sinytra.adapter.patch.api.MixinConstants;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.util.AdapterUtil;
 import org.slf4j.Logger;
@@ -56,6 +57,7 @@ public class DynamicAnonymousShadowFieldTypePatch implements ClassTransform {
                             if (!field.name.equals(targetField.name)) {
                                 renames.put(field.name, targetField.name);
                                 field.name = targetField.name;
+                                context.changes().markFieldModified(field);
                             }
                         }
                     }
@@ -64,11 +66,17 @@ public class DynamicAnonymousShadowFieldTypePatch implements ClassTransform {
         }
 
         if (!renames.isEmpty()) {
-            renames.forEach((from, to) -> LOGGER.info("Renaming anonymous class field {}.{} to {}", classNode.name, from, to));
+            renames.forEach((from, to) -> {
+                LOGGER.debug("Renaming anonymous class field {}.{} to {}", classNode.name, from, to);
+                if (PatchAudit.isEnabled()) {
+                    PatchAudit.record("rename_shadow_field", classNode.name, null, null, from, to);
+                }
+            });
             for (MethodNode method : classNode.methods) {
                 for (AbstractInsnNode insn : method.instructions) {
-                    if (insn instanceof FieldInsnNode finsn && finsn.owner.equals(classNode.name)) {
-                        finsn.name = renames.getOrDefault(finsn.name, finsn.name);
+                    if (insn instanceof FieldInsnNode finsn && finsn.owner.equals(classNode.name) && renames.containsKey(finsn.name)) {
+                        finsn.name = renames.get(finsn.name);
+                        context.changes().markMethodModified(method);
                     }
                 }
             }
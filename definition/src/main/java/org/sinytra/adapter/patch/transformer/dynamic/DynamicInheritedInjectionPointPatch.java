@@ -16,6 +16,12 @@ import java.util.List;
 public class DynamicInheritedInjectionPointPatch implements MethodTransform {
     private static final Logger LOGGER = LogUtils.getLogger();
 
+    @Override
+    public boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+        AnnotationHandle atNode = methodContext.injectionPointAnnotation();
+        return atNode == null || (atNode.<String>getValue("value").map(v -> v.get().equals("INVOKE")).orElse(false) && atNode.getValue("target").isPresent());
+    }
+
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
         AnnotationHandle atNode = methodContext.injectionPointAnnotation();
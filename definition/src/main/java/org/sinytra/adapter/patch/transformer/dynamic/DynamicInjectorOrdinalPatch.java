@@ -10,6 +10,7 @@ import org.objectweb.asm.tree.*;
 import org.sinytra.adapter.patch.PatchInstance;
 import org.sinytra.adapter.patch.analysis.*;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.util.AdapterUtil;
@@ -32,8 +33,22 @@ public class DynamicInjectorOrdinalPatch implements MethodTransform {
         return Set.of(MixinConstants.INJECT, MixinConstants.MODIFY_VAR);
     }
 
+    @Override
+    public boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+        AnnotationHandle atNode = methodContext.injectionPointAnnotation();
+        if (atNode == null || atNode.getValue("ordinal").isPresent()) {
+            return true;
+        }
+        AnnotationHandle annotation = methodContext.methodAnnotation();
+        return annotation.matchesDesc(MixinConstants.MODIFY_VAR) && (annotation.getValue("ordinal").isPresent() || annotation.getValue("index").isPresent());
+    }
+
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
+        // Ordinals can only shift when the target method was modified
+        if (methodContext.hasUnchangedTarget()) {
+            return Patch.Result.PASS;
+        }
         Type returnType = Type.getReturnType(methodNode.desc);
         List<HandlerInstance<?, ?>> offsetHandlers = getOffsetHandlers(methodContext, returnType);
         if (offsetHandlers.isEmpty()) {
@@ -109,7 +124,10 @@ public class DynamicInjectorOrdinalPatch implements MethodTransform {
             Optional<U> updatedValue = this.handler.apply(methodContext, classNode, methodNode, cleanTarget, dirtyTarget, this.context);
             if (updatedValue.isPresent()) {
                 U value = updatedValue.get();
-                LOGGER.info(PatchInstance.MIXINPATCH, "Updating injection point ordinal of {}.{} from {} to {}", classNode.name, methodNode.name, this.context, value);
+                if (PatchAudit.isEnabled()) {
+                    PatchAudit.record("update_ordinal", classNode.name, methodNode.name, methodNode.desc, this.context, value);
+                }
+                LOGGER.debug(PatchInstance.MIXINPATCH, "Updating injection point ordinal of {}.{} from {} to {}", classNode.name, methodNode.name, this.context, value);
                 this.applicator.accept(value);
                 return true;
             }
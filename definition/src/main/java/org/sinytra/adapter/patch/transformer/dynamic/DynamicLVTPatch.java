@@ -19,6 +19,7 @@ import org.sinytra.adapter.patch.analysis.params.EnhancedParamsDiff;
 import org.sinytra.adapter.patch.analysis.params.ParamsDiffSnapshot;
 import org.sinytra.adapter.patch.analysis.params.SimpleParamsDiffSnapshot;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.transformer.param.ParamTransformTarget;
@@ -34,6 +35,29 @@ public record DynamicLVTPatch(Supplier<LVTOffsets> lvtOffsets) implements Method
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final Set<String> ANNOTATIONS = Set.of(MixinConstants.INJECT, MixinConstants.MODIFY_EXPR_VAL, MixinConstants.MODIFY_VAR);
 
+    @Override
+    public boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+        AnnotationHandle annotation = methodContext.methodAnnotation();
+        return annotation.matchesDesc(MixinConstants.MODIFY_VAR)
+            || (annotation.matchesDesc(MixinConstants.INJECT) && methodContext.capturesLocals())
+            || hasLocalParameters(methodNode);
+    }
+
+    private static boolean hasLocalParameters(MethodNode methodNode) {
+        if (methodNode.invisibleParameterAnnotations != null) {
+            for (List<AnnotationNode> annotations : methodNode.invisibleParameterAnnotations) {
+                if (annotations != null) {
+                    for (AnnotationNode annotation : annotations) {
+                        if (annotation.desc.equals(MixinConstants.LOCAL)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
         AnnotationHandle annotation = methodContext.methodAnnotation();
@@ -114,7 +138,10 @@ public record DynamicLVTPatch(Supplier<LVTOffsets> lvtOffsets) implements Method
                 if (sameType.size() == 1) {
                     int index = sameType.get(0).index();
                     annotation.appendValue("index", index);
-                    LOGGER.info(PatchInstance.MIXINPATCH, "Fixing @Local annotation target on {}.{} using index {}", classNode.name, methodNode.name, index);
+                    if (PatchAudit.isEnabled()) {
+                        PatchAudit.record("fix_local_target", classNode.name, methodNode.name, methodNode.desc, index);
+                    }
+                    LOGGER.debug(PatchInstance.MIXINPATCH, "Fixing @Local annotation target on {}.{} using index {}", classNode.name, methodNode.name, index);
                     return Patch.Result.APPLY;
                 }
             }
@@ -127,7 +154,8 @@ public record DynamicLVTPatch(Supplier<LVTOffsets> lvtOffsets) implements Method
         if (handle != null) {
             // Find variable index
             int index = handle.get();
-            if (index == -1) {
+            // Reorders are only generated for modified methods
+            if (index == -1 || methodContext.hasUnchangedTarget()) {
                 return Patch.Result.PASS;
             }
             // Get target class and method
@@ -138,10 +166,12 @@ public record DynamicLVTPatch(Supplier<LVTOffsets> lvtOffsets) implements Method
             ClassNode targetClass = targetPair.classNode();
             MethodNode targetMethod = targetPair.methodNode();
             // Find reordered indices
-            OptionalInt reorder = this.lvtOffsets.get().findReorder(targetClass.name, targetMethod.name, targetMethod.desc, index);
-            if (reorder.isPresent()) {
-                int newIndex = reorder.getAsInt();
-                LOGGER.info(PatchInstance.MIXINPATCH, "Swapping {} index in {}.{} from {} for {}", annotation.getDesc(), classNode.name, methodNode.name, index, newIndex);
+            int newIndex = this.lvtOffsets.get().findReorderIndex(targetClass.name, targetMethod.name, targetMethod.desc, index);
+            if (newIndex != LVTOffsets.NO_REORDER) {
+                if (PatchAudit.isEnabled()) {
+                    PatchAudit.record("swap_variable_index", classNode.name, methodNode.name, methodNode.desc, annotation.getDesc(), index, newIndex);
+                }
+                LOGGER.debug(PatchInstance.MIXINPATCH, "Swapping {} index in {}.{} from {} for {}", annotation.getDesc(), classNode.name, methodNode.name, index, newIndex);
                 handle.set(newIndex);
                 return Patch.Result.APPLY;
             }
@@ -10,6 +10,7 @@ import org.objectweb.asm.tree.analysis.SourceValue;
 import org.sinytra.adapter.patch.PatchInstance;
 import org.sinytra.adapter.patch.analysis.MethodCallAnalyzer;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.selector.AnnotationValueHandle;
 import org.sinytra.adapter.patch.transformer.ModifyMixinType;
@@ -80,6 +81,12 @@ public class DynamicModifyVarAtReturnPatch implements MethodTransform {
         return Set.of(MixinConstants.MODIFY_VAR);
     }
 
+    @Override
+    public boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+        AnnotationHandle atNode = methodContext.injectionPointAnnotation();
+        return atNode != null && atNode.<String>getValue("value").map(v -> v.get().equals("RETURN")).orElse(false);
+    }
+
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
         AnnotationHandle injectionPointAnnotation = methodContext.injectionPointAnnotation();
@@ -87,7 +94,7 @@ public class DynamicModifyVarAtReturnPatch implements MethodTransform {
             return Patch.Result.PASS;
         }
         AnnotationValueHandle<String> targetHandle = injectionPointAnnotation.<String>getValue("value").orElse(null);
-        if (targetHandle == null || !targetHandle.get().equals("RETURN")) {
+        if (targetHandle == null || !targetHandle.get().equals("RETURN") || methodContext.hasUnchangedTarget()) {
             return Patch.Result.PASS;
         }
         int ordinal = injectionPointAnnotation.<Integer>getValue("ordinal").map(AnnotationValueHandle::get).orElse(-1);
@@ -128,7 +135,10 @@ public class DynamicModifyVarAtReturnPatch implements MethodTransform {
                 }
                 String qualifier = MethodCallAnalyzer.getCallQualifier(dirtyMinsn);
                 final int index = i;
-                LOGGER.info(PatchInstance.MIXINPATCH, "Redirecting RETURN variable modifier to parameter {} of method call to {}", i, qualifier);
+                if (PatchAudit.isEnabled()) {
+                    PatchAudit.record("redirect_return_modifier", classNode.name, methodNode.name, methodNode.desc, i, qualifier);
+                }
+                LOGGER.debug(PatchInstance.MIXINPATCH, "Redirecting RETURN variable modifier to parameter {} of method call to {}", i, qualifier);
                 MethodTransform transform = new ModifyMixinType(MixinConstants.MODIFY_ARG, b -> b.sameTarget()
                     .injectionPoint("INVOKE", qualifier)
                     .putValue("index", index));
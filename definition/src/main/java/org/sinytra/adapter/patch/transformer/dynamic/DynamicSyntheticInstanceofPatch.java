@@ -6,6 +6,7 @@ import org.sinytra.adapter.patch.analysis.InsnComparator;
 import org.sinytra.adapter.patch.analysis.InstructionMatcher;
 import org.sinytra.adapter.patch.analysis.MethodCallAnalyzer;
 import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.selector.AnnotationHandle;
 import org.sinytra.adapter.patch.transformer.DisableMixin;
 import org.sinytra.adapter.patch.transformer.ModifyMixinType;
 
@@ -28,6 +29,12 @@ public class DynamicSyntheticInstanceofPatch implements MethodTransform {
         return Set.of(MixinConstants.REDIRECT, MixinConstants.MODIFY_EXPR_VAL);
     }
 
+    @Override
+    public boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+        AnnotationHandle atNode = methodContext.injectionPointAnnotation();
+        return atNode == null || atNode.<String>getValue("value").map(v -> v.get().equals("INVOKE")).orElse(false);
+    }
+
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
         if (methodContext.injectionPointAnnotation().<String>getValue("value").map(v -> !v.get().equals("INVOKE")).orElse(true)) {
@@ -7,6 +7,7 @@ import org.objectweb.asm.tree.*;
 import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.transformer.LVTSnapshot;
 import org.sinytra.adapter.patch.util.AdapterUtil;
 import org.slf4j.Logger;
@@ -23,7 +24,10 @@ public record InlineParameterTransformer(int target, Consumer<InstructionAdapter
     @Override
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context, List<Type> parameters, int offset) {
         final int index = this.target + offset;
-        LOGGER.info(MIXINPATCH, "Inlining parameter {} of method {}.{}", index, classNode.name, methodNode.name);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("inline_parameter", classNode.name, methodNode.name, methodNode.desc, index);
+        }
+        LOGGER.debug(MIXINPATCH, "Inlining parameter {} of method {}.{}", index, classNode.name, methodNode.name);
         final int replaceIndex = -999 + index;
 
         LVTSnapshot.with(methodNode, () -> {
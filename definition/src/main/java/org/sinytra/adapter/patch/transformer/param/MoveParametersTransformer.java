@@ -12,6 +12,7 @@ import org.sinytra.adapter.patch.analysis.LocalVariableLookup;
 import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.transformer.LVTSnapshot;
 import org.sinytra.adapter.patch.util.AdapterUtil;
 import org.slf4j.Logger;
@@ -32,7 +33,10 @@ public record MoveParametersTransformer(int from, int to) implements ParameterTr
     public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context, List<Type> parameters, int offset) {
         final int paramIndex = this.from + offset;
 
-        LOGGER.info(MIXINPATCH, "Moving parameter from index {} to {} in method {}.{}", this.from, this.to, classNode.name, methodNode.name);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("move_parameter", classNode.name, methodNode.name, methodNode.desc, this.from, this.to);
+        }
+        LOGGER.debug(MIXINPATCH, "Moving parameter from index {} to {} in method {}.{}", this.from, this.to, classNode.name, methodNode.name);
 
         LocalVariableLookup lookup = new LocalVariableLookup(methodNode);
         LocalVariableNode localVar = lookup.getByParameterOrdinal(paramIndex);
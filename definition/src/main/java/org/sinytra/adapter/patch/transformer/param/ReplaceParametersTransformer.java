@@ -10,6 +10,7 @@ import org.sinytra.adapter.patch.analysis.LocalVariableLookup;
 import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.fixes.BytecodeFixerUpper;
 import org.sinytra.adapter.patch.fixes.TypeAdapter;
 import org.sinytra.adapter.patch.util.AdapterUtil;
@@ -36,7 +37,10 @@ public record ReplaceParametersTransformer(int index, Type type) implements Para
             return Patch.Result.PASS;
         }
 
-        LOGGER.info(MIXINPATCH, "Replacing parameter {} with type {} in {}.{}", paramIndex, this.type, classNode.name, methodNode.name);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("replace_parameter", classNode.name, methodNode.name, methodNode.desc, paramIndex, this.type);
+        }
+        LOGGER.debug(MIXINPATCH, "Replacing parameter {} with type {} in {}.{}", paramIndex, this.type, classNode.name, methodNode.name);
         parameters.set(paramIndex, this.type);
 
         LocalVariableLookup lvtLookup = new LocalVariableLookup(methodNode);
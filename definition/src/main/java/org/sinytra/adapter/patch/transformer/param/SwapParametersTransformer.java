@@ -8,6 +8,7 @@ import org.objectweb.asm.tree.*;
 import org.sinytra.adapter.patch.api.MethodContext;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.api.PatchContext;
+import org.sinytra.adapter.patch.audit.PatchAudit;
 import org.sinytra.adapter.patch.util.AdapterUtil;
 import org.sinytra.adapter.patch.util.SingleValueHandle;
 import org.slf4j.Logger;
@@ -44,7 +45,10 @@ public record SwapParametersTransformer(int from, int to) implements ParameterTr
         methodNode.parameters.set(from, toNode);
         methodNode.parameters.set(to, fromNode);
 
-        LOGGER.info(MIXINPATCH, "Swapped parameters at positions {}({}) and {}({}) in {}.{}", from, fromNode.name, to, toNode.name, classNode.name, methodNode.name);
+        if (PatchAudit.isEnabled()) {
+            PatchAudit.record("swap_parameters", classNode.name, methodNode.name, methodNode.desc, from, to);
+        }
+        LOGGER.debug(MIXINPATCH, "Swapped parameters at positions {}({}) and {}({}) in {}.{}", from, fromNode.name, to, toNode.name, classNode.name, methodNode.name);
 
         int fromNewLVT = ParamTransformationUtil.calculateLVTIndex(parameters, nonStatic, from);
         int toNewLVT = ParamTransformationUtil.calculateLVTIndex(parameters, nonStatic, to);
@@ -0,0 +1,83 @@
+package org.sinytra.adapter.patch.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Manifest attributes of ahead-of-time patched jars, shared by the AOT patcher and the runtime cache lookup.
+ * A cached jar is only valid when every attribute matches the values computed by the loader.
+ * <p>
+ * Files are identified by their path, size and modification time so that validating a cache never reads the
+ * game or mod jars. A cache is therefore only reused on the machine it was created on.
+ */
+public final class AOTManifest {
+    public static final String SOURCE_KEY_ATTRIBUTE = "Adapter-AOT-Source-Key";
+    public static final String DATA_VERSION_ATTRIBUTE = "Adapter-AOT-Data-Version";
+    public static final String INPUTS_KEY_ATTRIBUTE = "Adapter-AOT-Inputs-Key";
+
+    /**
+     * {@return the cache key of a mod jar}
+     */
+    public static String sourceKey(Path modJar) throws IOException {
+        MessageDigest digest = createDigest();
+        update(digest, "source", fileKey(modJar));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String cacheFileName(String sourceKey) {
+        return sourceKey + ".jar";
+    }
+
+    /**
+     * Computes a key of all inputs that affect the patched output besides the mod jar itself.
+     *
+     * @param libraries      other jars visible to the class lookup, in any order
+     * @param fieldTypeFixes whether field type fixes of the {@code BytecodeFixerUpper} are applied
+     */
+    public static String inputsKey(Path cleanJar, Path dirtyJar, Path patchData, Path lvtOffsets, @Nullable Path methodFingerprints, Collection<Path> libraries, boolean fieldTypeFixes) throws IOException {
+        List<String> libraryKeys = new ArrayList<>();
+        for (Path library : libraries) {
+            libraryKeys.add(fileKey(library));
+        }
+        libraryKeys.sort(null);
+
+        MessageDigest digest = createDigest();
+        update(digest, "clean", fileKey(cleanJar));
+        update(digest, "dirty", fileKey(dirtyJar));
+        update(digest, "patchData", fileKey(patchData));
+        update(digest, "lvtOffsets", fileKey(lvtOffsets));
+        update(digest, "methodFingerprints", methodFingerprints != null ? fileKey(methodFingerprints) : "none");
+        update(digest, "libraries", String.join(",", libraryKeys));
+        update(digest, "fieldTypeFixes", Boolean.toString(fieldTypeFixes));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Only reads file attributes
+    private static String fileKey(Path path) throws IOException {
+        return path.toAbsolutePath().normalize() + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+    }
+
+    private static void update(MessageDigest digest, String key, String value) {
+        digest.update((key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private AOTManifest() {}
+}
@@ -0,0 +1,80 @@
+package org.sinytra.adapter.patch.util;
+
+import org.objectweb.asm.*;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Computes frames by resolving common supertypes through an {@link InheritanceHandler} instead of loading classes.
+ */
+public class FrameComputingClassWriter extends ClassWriter {
+    private final InheritanceHandler inheritanceHandler;
+
+    public FrameComputingClassWriter(int flags, InheritanceHandler inheritanceHandler) {
+        super(flags);
+        this.inheritanceHandler = inheritanceHandler;
+    }
+
+    @Override
+    protected String getCommonSuperClass(String type1, String type2) {
+        return this.inheritanceHandler.getCommonSuperClass(type1, type2);
+    }
+
+    /**
+     * Writes a class, recomputing frames only for methods matching the predicate. All other methods keep their
+     * existing frames, so the class must have been read without {@link ClassReader#SKIP_FRAMES}.
+     */
+    public static byte[] write(ClassNode classNode, Predicate<MethodNode> recomputeFrames, InheritanceHandler inheritanceHandler) {
+        List<MethodNode> methods = classNode.methods.stream().filter(recomputeFrames).toList();
+        if (methods.size() == classNode.methods.size()) {
+            ClassWriter writer = new FrameComputingClassWriter(ClassWriter.COMPUTE_FRAMES, inheritanceHandler);
+            classNode.accept(writer);
+            return writer.toByteArray();
+        }
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        if (methods.isEmpty()) {
+            classNode.accept(writer);
+            return writer.toByteArray();
+        }
+        Map<String, MethodNode> recomputed = computeFrames(classNode, methods, inheritanceHandler);
+        classNode.accept(new ClassVisitor(Opcodes.ASM9, writer) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                MethodNode method = recomputed.get(name + descriptor);
+                if (method != null) {
+                    method.accept(writer);
+                    return null;
+                }
+                return super.visitMethod(access, name, descriptor, signature, exceptions);
+            }
+        });
+        return writer.toByteArray();
+    }
+
+    /**
+     * Computes frames of methods by writing them to a class stub sharing the original's hierarchy.
+     *
+     * @return copies of the methods with new frames, by name and descriptor
+     */
+    public static Map<String, MethodNode> computeFrames(ClassNode classNode, List<MethodNode> methods, InheritanceHandler inheritanceHandler) {
+        ClassNode stub = new ClassNode();
+        stub.visit(classNode.version, classNode.access, classNode.name, null, classNode.superName, classNode.interfaces.toArray(String[]::new));
+        stub.methods.addAll(methods);
+        ClassWriter writer = new FrameComputingClassWriter(ClassWriter.COMPUTE_FRAMES, inheritanceHandler);
+        stub.accept(writer);
+
+        ClassNode computed = new ClassNode();
+        new ClassReader(writer.toByteArray()).accept(computed, 0);
+        Map<String, MethodNode> map = new HashMap<>();
+        for (MethodNode method : computed.methods) {
+            map.put(method.name + method.desc, method);
+        }
+        return map;
+    }
+}
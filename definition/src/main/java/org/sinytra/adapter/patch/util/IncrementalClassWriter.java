@@ -0,0 +1,83 @@
+package org.sinytra.adapter.patch.util;
+
+import org.objectweb.asm.*;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.ClassChanges;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+
+import java.util.*;
+
+/**
+ * Writes a patched class using the reader it was originally read from. Unmodified methods are copied verbatim from
+ * the original bytecode, so only changed code needs to be serialized. Frames are recomputed for methods that need them.
+ */
+public final class IncrementalClassWriter {
+
+    /**
+     * Writes the patched class.
+     *
+     * @param reader    the reader the class node was read from, without {@link ClassReader#SKIP_FRAMES}
+     * @param classNode the patched class
+     * @param changes   changes tracked from the moment the class was read
+     */
+    public static byte[] write(ClassReader reader, ClassNode classNode, ClassChanges changes, InheritanceHandler inheritanceHandler) {
+        List<MethodNode> framedMethods = classNode.methods.stream().filter(changes::needsFrames).toList();
+        Map<String, MethodNode> recomputed = framedMethods.isEmpty() ? Map.of() : FrameComputingClassWriter.computeFrames(classNode, framedMethods, inheritanceHandler);
+        List<MethodNode> originalMethods = changes.getOriginalMethods();
+        Set<MethodNode> methods = identitySet(classNode.methods);
+        Set<MethodNode> originalMethodSet = identitySet(originalMethods);
+
+        // Sharing the constant pool of the reader lets ASM copy methods that come straight from a ClassWriter
+        ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+        reader.accept(new ClassVisitor(Opcodes.ASM9) {
+            private int methodIndex;
+
+            @Override
+            public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                // Class attributes, annotations and fields are taken from the patched class
+                classNode.accept(new ClassVisitor(Opcodes.ASM9, writer) {
+                    @Override
+                    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                        return null;
+                    }
+
+                    @Override
+                    public void visitEnd() {}
+                });
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                MethodNode method = originalMethods.get(this.methodIndex++);
+                if (methods.contains(method)) {
+                    if (!changes.isMethodModified(method)) {
+                        return writer.visitMethod(access, name, descriptor, signature, exceptions);
+                    }
+                    recomputed.getOrDefault(method.name + method.desc, method).accept(writer);
+                }
+                return null;
+            }
+
+            @Override
+            public void visitEnd() {
+                // Methods added by patches go last
+                for (MethodNode method : classNode.methods) {
+                    if (!originalMethodSet.contains(method)) {
+                        recomputed.getOrDefault(method.name + method.desc, method).accept(writer);
+                    }
+                }
+                writer.visitEnd();
+            }
+        }, 0);
+        return writer.toByteArray();
+    }
+
+    private static Set<MethodNode> identitySet(Collection<MethodNode> methods) {
+        Set<MethodNode> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(methods);
+        return set;
+    }
+
+    private IncrementalClassWriter() {}
+}
@@ -2,6 +2,7 @@ package org.sinytra.adapter.patch.util.provider;
 
 import com.mojang.logging.LogUtils;
 import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.jfr.ClassLookupMissEvent;
 import org.slf4j.Logger;
 import org.spongepowered.asm.service.MixinService;
 
@@ -22,9 +23,11 @@ public class MixinClassLookup implements ClassLookup {
             return Optional.of(MixinService.getService().getBytecodeProvider().getClassNode(name));
         } catch (ClassNotFoundException e) {
             LOGGER.debug("Target class not found: {}", name);
+            ClassLookupMissEvent.emit(this, name);
             return Optional.empty();
         } catch (Throwable t) {
             LOGGER.debug("Error getting class", t);
+            ClassLookupMissEvent.emit(this, name);
             return Optional.empty();
         }
     }
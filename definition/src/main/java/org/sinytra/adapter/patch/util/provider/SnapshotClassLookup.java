@@ -0,0 +1,85 @@
+package org.sinytra.adapter.patch.util.provider;
+
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Clean class lookup backed by a snapshot that only contains clean classes which differ from their dirty counterpart.
+ * Classes listed as unchanged in the snapshot are resolved through the dirty lookup, all other classes are absent
+ * from the clean jar and are never resolved.
+ */
+public class SnapshotClassLookup extends ZipClassLookup {
+    public static final String UNCHANGED_CLASSES_ENTRY = "unchanged_classes.txt";
+
+    private final ClassLookup dirtyLookup;
+    private final Set<String> unchangedClasses;
+
+    public SnapshotClassLookup(ZipFile snapshot, ClassLookup dirtyLookup) throws IOException {
+        super(snapshot);
+        this.dirtyLookup = dirtyLookup;
+        this.unchangedClasses = readUnchangedClasses(snapshot);
+    }
+
+    @Override
+    protected Optional<ClassNode> computeClass(String name) {
+        if (this.unchangedClasses.contains(name)) {
+            return this.dirtyLookup.getClass(name);
+        }
+        return super.computeClass(name);
+    }
+
+    private static Set<String> readUnchangedClasses(ZipFile snapshot) throws IOException {
+        ZipEntry entry = snapshot.getEntry(UNCHANGED_CLASSES_ENTRY);
+        if (entry == null) {
+            throw new IOException("Invalid clean snapshot " + snapshot.getName() + ", missing " + UNCHANGED_CLASSES_ENTRY);
+        }
+        Set<String> classes = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(snapshot.getInputStream(entry), StandardCharsets.UTF_8))) {
+            reader.lines().filter(s -> !s.isEmpty()).forEach(classes::add);
+        }
+        return classes;
+    }
+
+    public static class Writer implements Closeable {
+        private final ZipOutputStream zos;
+        private final Set<String> unchangedClasses = new HashSet<>();
+        private int count;
+
+        public Writer(OutputStream os) {
+            this.zos = new ZipOutputStream(os);
+        }
+
+        // Clean classes that differ from the dirty jar or are missing from it
+        public void addClass(String name, byte[] cleanData) throws IOException {
+            this.zos.putNextEntry(new ZipEntry(name + ".class"));
+            this.zos.write(cleanData);
+            this.zos.closeEntry();
+            this.count++;
+        }
+
+        // Clean classes that are identical in the dirty jar
+        public void addUnchangedClass(String name) {
+            this.unchangedClasses.add(name);
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.zos.putNextEntry(new ZipEntry(UNCHANGED_CLASSES_ENTRY));
+            this.zos.write(String.join("\n", this.unchangedClasses.stream().sorted().toList()).getBytes(StandardCharsets.UTF_8));
+            this.zos.closeEntry();
+            this.zos.close();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.sinytra.adapter.patch.util.provider;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.jfr.ClassLookupMissEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,7 +26,11 @@ public class ZipClassLookup implements ClassLookup {
 
     @Override
     public Optional<ClassNode> getClass(String name) {
-        return this.classCache.computeIfAbsent(name, this::computeClass);
+        Optional<ClassNode> node = this.classCache.computeIfAbsent(name, this::computeClass);
+        if (node.isEmpty()) {
+            ClassLookupMissEvent.emit(this, name);
+        }
+        return node;
     }
 
     protected Optional<ClassNode> computeClass(String name) {
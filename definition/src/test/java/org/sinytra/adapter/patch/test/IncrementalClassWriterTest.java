@@ -0,0 +1,234 @@
+package org.sinytra.adapter.patch.test;
+
+import com.mojang.datafixers.util.Pair;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.*;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceClassVisitor;
+import org.sinytra.adapter.patch.ClassChanges;
+import org.sinytra.adapter.patch.MixinClassGeneratorImpl;
+import org.sinytra.adapter.patch.PatchEnvironmentImpl;
+import org.sinytra.adapter.patch.PatchInstance;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+import org.sinytra.adapter.patch.api.*;
+import org.sinytra.adapter.patch.fixes.BytecodeFixerUpper;
+import org.sinytra.adapter.patch.fixes.FieldTypeUsageTransformer;
+import org.sinytra.adapter.patch.fixes.SimpleTypeAdapter;
+import org.sinytra.adapter.patch.test.mixin.MixinPatchTest;
+import org.sinytra.adapter.patch.transformer.RedirectShadowMethod;
+import org.sinytra.adapter.patch.transformer.dynamic.DynamicAnonymousShadowFieldTypePatch;
+import org.sinytra.adapter.patch.util.FrameComputingClassWriter;
+import org.sinytra.adapter.patch.util.IncrementalClassWriter;
+import org.sinytra.adapter.patch.util.provider.ClassLookup;
+import org.spongepowered.asm.mixin.FabricUtil;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips of patched classes through {@link IncrementalClassWriter}. Most transforms here modify members other
+ * than the mixin method they are applied to.
+ */
+public class IncrementalClassWriterTest {
+    private static final String MIXIN = "org/sinytra/adapter/test/mixins/TargetMixin";
+    private static final String TARGET = "org/sinytra/adapter/test/classes/Target";
+    private static final String ANONYMOUS_TARGET = TARGET + "$1";
+    private static final String SWAP_MIXIN = "org/sinytra/adapter/test/mixins/ParameterSwapMixin";
+
+    @Test
+    void testUnreportedMethodTransform() {
+        // Modifies another method without reporting it
+        MethodTransform transform = (classNode, methodNode, methodContext, context) -> {
+            findCall(classNode, "helper", "oldName").name = "newName";
+            return Patch.Result.APPLY;
+        };
+        String written = assertRoundTrip(createMixin("value"), Patch.builder().targetClass(TARGET).transform(transform).build(), null);
+        assertThat(written).contains(MIXIN + ".newName ()V");
+    }
+
+    @Test
+    void testRedirectShadowMethod() {
+        Patch patch = Patch.builder().targetClass(TARGET).transform(new RedirectShadowMethod("oldName()V", "newName()V", (insn, list) -> {})).build();
+        String written = assertRoundTrip(createMixin("value"), patch, null);
+        assertThat(written).contains(MIXIN + ".newName ()V").doesNotContain(MIXIN + ".oldName ()V");
+    }
+
+    @Test
+    void testAnonymousShadowFieldRename() {
+        String written = assertRoundTrip(createMixin("targets"), Patch.builder().transform(new DynamicAnonymousShadowFieldTypePatch()).build(), null);
+        assertThat(written).contains("GETFIELD " + MIXIN + ".renamed : I").doesNotContain("GETFIELD " + MIXIN + ".count : I");
+    }
+
+    @Test
+    void testFieldTypeUsage() {
+        Type optional = Type.getObjectType("java/util/Optional");
+        SimpleTypeAdapter adapter = new SimpleTypeAdapter(optional, Type.getType(String.class), (list, target) -> {
+            InsnList insns = new InsnList();
+            insns.add(new MethodInsnNode(Opcodes.INVOKEVIRTUAL, "java/util/Optional", "orElseThrow", "()Ljava/lang/Object;"));
+            insns.add(new TypeInsnNode(Opcodes.CHECKCAST, "java/lang/String"));
+            list.insert(target, insns);
+        });
+        BytecodeFixerUpper bfu = new BytecodeFixerUpper(Map.of(TARGET, Map.of("name", Pair.of(Type.getType(String.class), optional))), List.of(adapter));
+        String written = assertRoundTrip(createMixin("value"), Patch.builder().targetClass(TARGET).transform(new FieldTypeUsageTransformer()).build(), bfu);
+        assertThat(written).contains("GETFIELD " + MIXIN + ".name : Ljava/util/Optional;").contains("CHECKCAST java/lang/String");
+    }
+
+    @Test
+    void testExtractMixin() {
+        Patch patch = Patch.builder().targetClass(TARGET).targetMixinType(MixinConstants.INJECT).extractMixin(TARGET).build();
+        String written = assertRoundTrip(createMixin("value"), patch, null);
+        // The private method called by the extracted injector is made accessible to the generated mixin
+        assertThat(written).contains("public synthetic privateHelper()V").doesNotContain("injectTick");
+    }
+
+    @Test
+    void testParameterSwapFixture() throws Exception {
+        ClassNode fixture = new ClassNode();
+        new ClassReader(SWAP_MIXIN).accept(fixture, 0);
+        Patch patch = Patch.builder()
+            .targetInjectionPoint("")
+            .targetMethod("injectTarget")
+            .targetMixinType(MixinConstants.INJECT)
+            .transformParams(params -> params.swap(0, 1))
+            .build();
+        String written = assertRoundTrip(fixture, patch, null);
+        assertThat(written)
+            .contains("private testSwap(Ljava/lang/String;ILorg/spongepowered/asm/mixin/injection/callback/CallbackInfo;)V")
+            // Copied from the original class
+            .contains("private testComplexSwap(ISLjava/lang/String;Lorg/spongepowered/asm/mixin/injection/callback/CallbackInfo;)V");
+    }
+
+    /**
+     * Patches a class and compares writing it incrementally with writing it in full.
+     *
+     * @return the textified class
+     */
+    private static String assertRoundTrip(ClassNode mixin, Patch patch, BytecodeFixerUpper bfu) {
+        ClassWriter originalWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        mixin.accept(originalWriter);
+        ClassReader reader = new ClassReader(originalWriter.toByteArray());
+        ClassNode classNode = new ClassNode();
+        reader.accept(classNode, 0);
+
+        PatchEnvironment environment = createEnvironment(bfu);
+        ClassChanges changes = ClassChanges.create(classNode);
+        Patch.Result result = PatchInstance.applyAll(classNode, List.of(patch), environment, changes);
+        assertThat(result).isNotEqualTo(Patch.Result.PASS);
+
+        byte[] incremental = IncrementalClassWriter.write(reader, classNode, changes, environment.inheritanceHandler());
+        byte[] full = FrameComputingClassWriter.write(classNode, changes::needsFrames, environment.inheritanceHandler());
+        String written = textify(incremental);
+        assertThat(written).isEqualTo(textify(full));
+        return written;
+    }
+
+    private static String textify(byte[] bytes) {
+        StringWriter writer = new StringWriter();
+        new ClassReader(bytes).accept(new TraceClassVisitor(null, new Textifier(), new PrintWriter(writer)), 0);
+        return writer.toString();
+    }
+
+    private static MethodInsnNode findCall(ClassNode classNode, String method, String callee) {
+        return classNode.methods.stream()
+            .filter(m -> m.name.equals(method))
+            .flatMap(m -> List.of(m.instructions.toArray()).stream())
+            .filter(insn -> insn instanceof MethodInsnNode minsn && minsn.name.equals(callee))
+            .map(MethodInsnNode.class::cast)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static PatchEnvironment createEnvironment(BytecodeFixerUpper bfu) {
+        ClassNode target = new ClassNode();
+        target.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, TARGET, null, "java/lang/Object", null);
+        target.visitField(Opcodes.ACC_PRIVATE, "count", "I", null, null);
+        target.visitField(Opcodes.ACC_PRIVATE, "name", "Ljava/lang/String;", null, null);
+        ClassNode anonymousTarget = new ClassNode();
+        anonymousTarget.visit(Opcodes.V17, 0, ANONYMOUS_TARGET, null, "java/lang/Object", null);
+        anonymousTarget.visitField(Opcodes.ACC_PRIVATE, "renamed", "I", null, null);
+        Map<String, ClassNode> classes = Map.of(TARGET, target, ANONYMOUS_TARGET, anonymousTarget);
+        ClassLookup lookup = name -> Optional.ofNullable(classes.get(name)).or(() -> readClass(name));
+
+        RefmapHolder refmapHolder = new RefmapHolder() {
+            @Override
+            public String remap(String cls, String reference) {
+                return reference;
+            }
+
+            @Override
+            public void copyEntries(String from, String to) {}
+        };
+        return new PatchEnvironmentImpl(refmapHolder, lookup, lookup, bfu, new MixinClassGeneratorImpl(lookup), new InheritanceHandler(lookup), FabricUtil.COMPATIBILITY_LATEST);
+    }
+
+    // Test fixtures and JDK classes
+    private static Optional<ClassNode> readClass(String name) {
+        try {
+            ClassNode node = new ClassNode();
+            new ClassReader(name).accept(node, 0);
+            return Optional.of(node);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates a mixin with shadow members, an injector, and methods using the shadow members.
+     *
+     * @param targetKey whether the target class is referenced by {@code value} or by name in {@code targets}
+     */
+    private static ClassNode createMixin(String targetKey) {
+        ClassNode node = MixinPatchTest.createMixin(MIXIN, targetKey, targetKey.equals("value") ? List.of(Type.getObjectType(TARGET)) : List.of(ANONYMOUS_TARGET));
+
+        for (String[] field : new String[][]{{"count", "I"}, {"name", "Ljava/lang/String;"}}) {
+            FieldNode shadow = new FieldNode(Opcodes.ACC_PRIVATE, field[0], field[1], null, null);
+            shadow.visibleAnnotations = new ArrayList<>(List.of(new AnnotationNode(MixinConstants.SHADOW)));
+            node.fields.add(shadow);
+        }
+
+        MethodNode shadow = new MethodNode(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "oldName", "()V", null, null);
+        shadow.visibleAnnotations = new ArrayList<>(List.of(new AnnotationNode(MixinConstants.SHADOW)));
+        node.methods.add(shadow);
+
+        MethodNode helper = new MethodNode(Opcodes.ACC_PRIVATE, "helper", "()I", null, null);
+        helper.instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+        helper.instructions.add(new MethodInsnNode(Opcodes.INVOKEVIRTUAL, MIXIN, "oldName", "()V"));
+        helper.instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+        helper.instructions.add(new FieldInsnNode(Opcodes.GETFIELD, MIXIN, "name", "Ljava/lang/String;"));
+        helper.instructions.add(new MethodInsnNode(Opcodes.INVOKEVIRTUAL, "java/lang/String", "length", "()I"));
+        helper.instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+        helper.instructions.add(new FieldInsnNode(Opcodes.GETFIELD, MIXIN, "count", "I"));
+        helper.instructions.add(new InsnNode(Opcodes.IADD));
+        helper.instructions.add(new InsnNode(Opcodes.IRETURN));
+        node.methods.add(helper);
+
+        MethodNode privateHelper = new MethodNode(Opcodes.ACC_PRIVATE, "privateHelper", "()V", null, null);
+        privateHelper.instructions.add(new InsnNode(Opcodes.RETURN));
+        node.methods.add(privateHelper);
+
+        AnnotationNode at = new AnnotationNode(MixinConstants.AT);
+        at.values = new ArrayList<>(List.of("value", "HEAD"));
+        MethodNode injector = MixinPatchTest.addHandler(node, "injectTick", "(Lorg/spongepowered/asm/mixin/injection/callback/CallbackInfo;)V", MixinConstants.INJECT, "tick()V", at);
+        InsnList call = new InsnList();
+        call.add(new VarInsnNode(Opcodes.ALOAD, 0));
+        call.add(new MethodInsnNode(Opcodes.INVOKEVIRTUAL, MIXIN, "privateHelper", "()V"));
+        injector.instructions.insert(call);
+
+        MethodNode untouched = new MethodNode(Opcodes.ACC_PUBLIC, "untouched", "()I", null, null);
+        untouched.instructions.add(new InsnNode(Opcodes.ICONST_1));
+        untouched.instructions.add(new InsnNode(Opcodes.IRETURN));
+        node.methods.add(untouched);
+        return node;
+    }
+}
@@ -0,0 +1,70 @@
+package org.sinytra.adapter.patch.test;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.analysis.InheritanceHandler;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InheritanceHandlerTest {
+    @Test
+    void testJdkParentTypes() {
+        // Neither the lookup nor its classes' parents contain any JDK types
+        InheritanceHandler handler = createHandler(
+            createClass("test/FirstException", "java/lang/IllegalStateException"),
+            createClass("test/SecondException", "java/lang/IllegalArgumentException"),
+            createClass("test/ThirdException", "test/SecondException")
+        );
+        assertEquals("java/lang/RuntimeException", handler.getCommonSuperClass("test/FirstException", "test/SecondException"));
+        assertEquals("java/lang/RuntimeException", handler.getCommonSuperClass("test/ThirdException", "test/FirstException"));
+        assertEquals("java/lang/IllegalArgumentException", handler.getCommonSuperClass("test/ThirdException", "java/lang/NumberFormatException"));
+        assertEquals("java/lang/Exception", handler.getCommonSuperClass("test/FirstException", "java/io/IOException"));
+    }
+
+    @Test
+    void testLookupClasses() {
+        InheritanceHandler handler = createHandler(
+            createClass("test/Base", "java/lang/Object"),
+            createClass("test/First", "test/Base"),
+            createClass("test/Second", "test/Base")
+        );
+        assertEquals("test/Base", handler.getCommonSuperClass("test/First", "test/Second"));
+        assertEquals("test/Base", handler.getCommonSuperClass("test/Second", "test/Base"));
+        assertEquals("java/lang/Object", handler.getCommonSuperClass("test/First", "java/lang/String"));
+    }
+
+    @Test
+    void testInterfaces() {
+        ClassNode itf = createClass("test/Interface", "java/lang/Object");
+        itf.access |= Opcodes.ACC_INTERFACE;
+        InheritanceHandler handler = createHandler(itf, createClass("test/First", "java/lang/RuntimeException"));
+        assertEquals("java/lang/Object", handler.getCommonSuperClass("test/Interface", "test/First"));
+        assertEquals("java/lang/Object", handler.getCommonSuperClass("java/lang/Runnable", "java/lang/Thread"));
+    }
+
+    @Test
+    void testMissingClass() {
+        InheritanceHandler handler = createHandler(createClass("test/First", "test/Missing"));
+        assertThrows(TypeNotPresentException.class, () -> handler.getCommonSuperClass("test/First", "java/lang/RuntimeException"));
+        assertThrows(TypeNotPresentException.class, () -> handler.getCommonSuperClass("test/Unknown", "java/lang/RuntimeException"));
+    }
+
+    private static InheritanceHandler createHandler(ClassNode... classes) {
+        Map<String, ClassNode> lookup = Stream.of(classes).collect(Collectors.toMap(c -> c.name, Function.identity()));
+        return new InheritanceHandler(name -> Optional.ofNullable(lookup.get(name)));
+    }
+
+    private static ClassNode createClass(String name, String superName) {
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, superName, null);
+        return node;
+    }
+}
@@ -0,0 +1,98 @@
+package org.sinytra.adapter.patch.test;
+
+import org.junit.jupiter.api.Test;
+import org.sinytra.adapter.patch.LVTOffsets;
+import org.sinytra.adapter.patch.util.MethodQualifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class LVTOffsetsTest {
+    private static final String CLASS = "net/minecraft/world/entity/LivingEntity";
+
+    @Test
+    void testCollidingIndices() {
+        // Three swaps use a table of 8 slots, so these originals all hash to the same slot
+        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = Map.of(CLASS, Map.of(
+            new MethodQualifier(null, "hurt", "(F)Z"), List.of(swap(1, 4), swap(9, 10), swap(17, 3))
+        ));
+        assertLookupsEqual(reorders, "hurt", "(F)Z");
+    }
+
+    @Test
+    void testDuplicateOriginals() {
+        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = Map.of(CLASS, Map.of(
+            new MethodQualifier(null, "tick", "()V"), List.of(swap(2, 5), swap(3, 2), swap(2, 7), swap(10, 2), swap(3, 9))
+        ));
+        LVTOffsets offsets = new LVTOffsets(reorders);
+        assertEquals(5, offsets.findReorderIndex(CLASS, "tick", "()V", 2));
+        assertEquals(2, offsets.findReorderIndex(CLASS, "tick", "()V", 3));
+        assertLookupsEqual(reorders, "tick", "()V");
+    }
+
+    @Test
+    void testOverloadsAndOwners() {
+        Map<MethodQualifier, List<LVTOffsets.Swap>> classReorders = new HashMap<>();
+        classReorders.put(new MethodQualifier(null, "hurt", "(F)Z"), List.of(swap(1, 2)));
+        classReorders.put(new MethodQualifier(null, "hurt", "(FI)Z"), List.of(swap(1, 3)));
+        // Qualifiers with an owner were never matched by lookups
+        classReorders.put(new MethodQualifier("L" + CLASS + ";", "heal", "(F)V"), List.of(swap(1, 4)));
+        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = Map.of(CLASS, classReorders);
+
+        assertLookupsEqual(reorders, "hurt", "(F)Z");
+        assertLookupsEqual(reorders, "hurt", "(FI)Z");
+        assertLookupsEqual(reorders, "heal", "(F)V");
+        assertLookupsEqual(reorders, "hurt", "()Z");
+        assertEquals(LVTOffsets.NO_REORDER, new LVTOffsets(reorders).findReorderIndex("net/minecraft/world/entity/Entity", "hurt", "(F)Z", 1));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testDeprecatedOptionalLookup() {
+        LVTOffsets offsets = new LVTOffsets(Map.of(CLASS, Map.of(new MethodQualifier(null, "tick", "()V"), List.of(swap(2, 5)))));
+        assertEquals(OptionalInt.of(5), offsets.findReorder(CLASS, "tick", "()V", 2));
+        assertEquals(OptionalInt.empty(), offsets.findReorder(CLASS, "tick", "()V", 3));
+        assertEquals(OptionalInt.empty(), offsets.findReorder(CLASS, "hurt", "(F)Z", 2));
+    }
+
+    @Test
+    void testValueSemantics() {
+        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = Map.of(CLASS, Map.of(
+            new MethodQualifier(null, "tick", "()V"), List.of(swap(2, 5))
+        ));
+        LVTOffsets offsets = new LVTOffsets(reorders);
+        assertEquals(offsets, new LVTOffsets(Map.copyOf(reorders)));
+        assertEquals(offsets.hashCode(), new LVTOffsets(Map.copyOf(reorders)).hashCode());
+        assertEquals("LVTOffsets[reorders=" + reorders + "]", offsets.toString());
+        assertNotEquals(offsets, new LVTOffsets(Map.of()));
+    }
+
+    // Compares the compiled index with a linear scan of the swaps over a range of indices
+    private static void assertLookupsEqual(Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders, String methodName, String methodDesc) {
+        LVTOffsets offsets = new LVTOffsets(reorders);
+        for (int index = -1; index < 32; index++) {
+            assertEquals(findReorderLinear(reorders, methodName, methodDesc, index), offsets.findReorderIndex(CLASS, methodName, methodDesc, index), "Reorder of index " + index);
+        }
+    }
+
+    private static int findReorderLinear(Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders, String methodName, String methodDesc, int index) {
+        List<LVTOffsets.Swap> swaps = reorders.get(CLASS).get(new MethodQualifier(null, methodName, methodDesc));
+        if (swaps != null) {
+            for (LVTOffsets.Swap swap : swaps) {
+                if (swap.original() == index) {
+                    return swap.modified();
+                }
+            }
+        }
+        return LVTOffsets.NO_REORDER;
+    }
+
+    private static LVTOffsets.Swap swap(int original, int modified) {
+        return new LVTOffsets.Swap(original, modified);
+    }
+}
@@ -0,0 +1,122 @@
+package org.sinytra.adapter.patch.test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sinytra.adapter.patch.audit.JsonlPatchAuditSink;
+import org.sinytra.adapter.patch.audit.PatchAudit;
+import org.sinytra.adapter.patch.audit.PatchAuditEvent;
+import org.sinytra.adapter.patch.audit.PatchAuditSink;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PatchAuditTest {
+    private static final String OWNER = "org/sinytra/adapter/test/mixins/ParameterSwapMixin";
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void resetSink() {
+        PatchAudit.setSink(PatchAuditSink.NOOP);
+    }
+
+    @Test
+    void testJournalIsWrittenOnClose() throws IOException {
+        Path journal = this.tempDir.resolve("audit.jsonl");
+        JsonlPatchAuditSink sink = new JsonlPatchAuditSink(journal);
+        PatchAudit.setSink(sink);
+        assertThat(PatchAudit.isEnabled()).isTrue();
+
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            PatchAudit.record("swap_parameters", OWNER, "testSwap", "(ILjava/lang/String;)V", i, i + 1);
+        }
+        PatchAudit.record("rename_shadow_field", OWNER, null, null);
+        // Replacing the sink drains the queue before closing the journal
+        PatchAudit.setSink(PatchAuditSink.NOOP);
+        assertThat(PatchAudit.isEnabled()).isFalse();
+
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(count + 1);
+        for (int i = 0; i < count; i++) {
+            JsonObject json = JsonParser.parseString(lines.get(i)).getAsJsonObject();
+            assertThat(json.get("action").getAsString()).isEqualTo("swap_parameters");
+            assertThat(json.get("owner").getAsString()).isEqualTo(OWNER);
+            assertThat(json.get("method").getAsString()).isEqualTo("testSwap(ILjava/lang/String;)V");
+            assertThat(json.getAsJsonArray("details")).extracting(e -> e.getAsString()).containsExactly(String.valueOf(i), String.valueOf(i + 1));
+            assertThat(json.get("time").getAsLong()).isPositive();
+        }
+        JsonObject classEvent = JsonParser.parseString(lines.get(count)).getAsJsonObject();
+        assertThat(classEvent.has("method")).isFalse();
+        assertThat(classEvent.has("details")).isFalse();
+        assertThat(sink.getDroppedCount()).isZero();
+
+        // Events recorded after closing are counted as dropped
+        sink.accept(new PatchAuditEvent(System.currentTimeMillis(), "late", OWNER, null, List.of()));
+        assertThat(sink.getDroppedCount()).isOne();
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).hasSize(count + 1);
+    }
+
+    @Test
+    void testEventsAreWrittenOrDropped() throws IOException {
+        Path journal = this.tempDir.resolve("flood.jsonl");
+        JsonlPatchAuditSink sink = new JsonlPatchAuditSink(journal);
+        // More events than the queue can hold, produced faster than they can be written
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            sink.accept(new PatchAuditEvent(i, "flood", OWNER, null, List.of()));
+        }
+        sink.close();
+
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertThat(lines.size() + sink.getDroppedCount()).isEqualTo(count);
+        // Written events keep their order
+        long previous = -1;
+        for (String line : lines) {
+            long time = JsonParser.parseString(line).getAsJsonObject().get("time").getAsLong();
+            assertThat(time).isGreaterThan(previous);
+            previous = time;
+        }
+    }
+
+    @Test
+    void testDisabledAuditSkipsDetails() {
+        Object detail = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Details must not be formatted without a sink");
+            }
+        };
+        assertThat(PatchAudit.isEnabled()).isFalse();
+        PatchAudit.record("disable_method", OWNER, "testSwap", "()V", detail);
+    }
+
+    @Test
+    void testReplacedSinkIsClosed() {
+        int[] closed = new int[1];
+        PatchAuditSink sink = new PatchAuditSink() {
+            @Override
+            public void accept(PatchAuditEvent event) {}
+
+            @Override
+            public void close() {
+                closed[0]++;
+            }
+        };
+        PatchAudit.setSink(sink);
+        // Installing the same sink again keeps it open
+        PatchAudit.setSink(sink);
+        assertThat(closed[0]).isZero();
+        PatchAudit.setSink(PatchAuditSink.NOOP);
+        assertThat(closed[0]).isOne();
+    }
+}
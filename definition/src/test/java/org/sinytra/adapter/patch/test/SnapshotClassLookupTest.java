@@ -0,0 +1,114 @@
+package org.sinytra.adapter.patch.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.sinytra.adapter.patch.util.provider.ClassLookup;
+import org.sinytra.adapter.patch.util.provider.SnapshotClassLookup;
+import org.sinytra.adapter.patch.util.provider.ZipClassLookup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnapshotClassLookupTest {
+    private static final String CHANGED = "net/minecraft/Changed";
+    private static final String UNCHANGED = "net/minecraft/Unchanged";
+    private static final String REMOVED = "net/minecraft/Removed";
+    private static final String FORGE_ADDED = "net/minecraftforge/Added";
+    private static final String FOREIGN = "com/example/mod/ModClass";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testMatchesCleanJar() throws IOException {
+        Map<String, byte[]> cleanClasses = new LinkedHashMap<>();
+        cleanClasses.put(CHANGED, createClass(CHANGED, "clean"));
+        cleanClasses.put(UNCHANGED, createClass(UNCHANGED, "value"));
+        cleanClasses.put(REMOVED, createClass(REMOVED, "value"));
+        Map<String, byte[]> dirtyClasses = new LinkedHashMap<>();
+        dirtyClasses.put(CHANGED, createClass(CHANGED, "dirty"));
+        dirtyClasses.put(UNCHANGED, createClass(UNCHANGED, "value"));
+        dirtyClasses.put(FORGE_ADDED, createClass(FORGE_ADDED, "value"));
+
+        Path snapshotPath = this.tempDir.resolve("clean_snapshot.zip");
+        try (SnapshotClassLookup.Writer writer = new SnapshotClassLookup.Writer(Files.newOutputStream(snapshotPath))) {
+            for (Map.Entry<String, byte[]> entry : cleanClasses.entrySet()) {
+                byte[] dirty = dirtyClasses.get(entry.getKey());
+                if (dirty != null && Arrays.equals(dirty, entry.getValue())) {
+                    writer.addUnchangedClass(entry.getKey());
+                } else {
+                    writer.addClass(entry.getKey(), entry.getValue());
+                }
+            }
+            assertThat(writer.getCount()).isEqualTo(2);
+        }
+
+        try (ZipFile cleanJar = new ZipFile(writeJar("clean.jar", cleanClasses).toFile());
+             ZipFile dirtyJar = new ZipFile(writeJar("dirty.jar", dirtyClasses).toFile());
+             ZipFile foreignJar = new ZipFile(writeJar("mod.jar", Map.of(FOREIGN, createClass(FOREIGN, "value"))).toFile());
+             ZipFile snapshot = new ZipFile(snapshotPath.toFile())
+        ) {
+            ClassLookup cleanLookup = new ZipClassLookup(cleanJar);
+            ClassLookup dirtyJarLookup = new ZipClassLookup(dirtyJar);
+            ClassLookup foreignLookup = new ZipClassLookup(foreignJar);
+            // The runtime dirty lookup also resolves mod and library classes
+            ClassLookup dirtyLookup = name -> dirtyJarLookup.getClass(name).or(() -> foreignLookup.getClass(name));
+            ClassLookup snapshotLookup = new SnapshotClassLookup(snapshot, dirtyLookup);
+
+            assertThat(dirtyLookup.getClass(FOREIGN)).isPresent();
+            for (String name : List.of(CHANGED, UNCHANGED, REMOVED, FORGE_ADDED, FOREIGN)) {
+                assertThat(describe(snapshotLookup.getClass(name))).as(name).isEqualTo(describe(cleanLookup.getClass(name)));
+            }
+            assertThat(describe(snapshotLookup.getClass(CHANGED))).isEqualTo(Optional.of(CHANGED + " clean"));
+            assertThat(snapshotLookup.getClass(FORGE_ADDED)).isEmpty();
+            assertThat(snapshotLookup.getClass(FOREIGN)).isEmpty();
+        }
+    }
+
+    @Test
+    void testRejectsSnapshotWithoutClassList() throws IOException {
+        Path path = writeJar("invalid_snapshot.zip", Map.of(CHANGED, createClass(CHANGED, "clean")));
+        try (ZipFile snapshot = new ZipFile(path.toFile())) {
+            assertThatThrownBy(() -> new SnapshotClassLookup(snapshot, name -> Optional.empty()))
+                .isInstanceOf(IOException.class);
+        }
+    }
+
+    private static Optional<String> describe(Optional<ClassNode> node) {
+        return node.map(n -> n.name + n.fields.stream().map(f -> " " + f.name).reduce("", String::concat));
+    }
+
+    private static byte[] createClass(String name, String field) {
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        node.fields.add(new FieldNode(Opcodes.ACC_PUBLIC, field, "I", null, null));
+        ClassWriter writer = new ClassWriter(0);
+        node.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private Path writeJar(String name, Map<String, byte[]> classes) throws IOException {
+        Path path = this.tempDir.resolve(name);
+        try (OutputStream os = Files.newOutputStream(path); ZipOutputStream zos = new ZipOutputStream(os)) {
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey() + ".class"));
+                zos.write(entry.getValue());
+                zos.closeEntry();
+            }
+        }
+        return path;
+    }
+}
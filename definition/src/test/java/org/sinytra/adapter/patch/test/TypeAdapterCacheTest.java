@@ -0,0 +1,144 @@
+package org.sinytra.adapter.patch.test;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.sinytra.adapter.patch.fixes.BytecodeFixerUpper;
+import org.sinytra.adapter.patch.fixes.SimpleTypeAdapter;
+import org.sinytra.adapter.patch.fixes.TypeAdapter;
+import org.sinytra.adapter.patch.fixes.TypeAdapterProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Type adapter lookups of {@link BytecodeFixerUpper}, which are indexed by type pair and memoize provider results.
+ */
+public class TypeAdapterCacheTest {
+    private static final Type STRING = Type.getType(String.class);
+    private static final Type OPTIONAL = Type.getType(Optional.class);
+    private static final Type INT = Type.INT_TYPE;
+    private static final Type LONG = Type.LONG_TYPE;
+    private static final Type OBJECT = Type.getType(Object.class);
+    private static final List<Type> TYPES = List.of(STRING, OPTIONAL, INT, LONG, OBJECT);
+
+    @Test
+    void testLookupsMatchLinearScan() {
+        List<TypeAdapter> adapters = List.of(
+            adapter(STRING, OPTIONAL),
+            // Shadowed by the first adapter with the same types
+            adapter(STRING, OPTIONAL),
+            adapter(INT, LONG),
+            adapter(LONG, INT)
+        );
+        TypeAdapter objectToString = adapter(OBJECT, STRING);
+        TypeAdapter objectToStringFallback = adapter(OBJECT, STRING);
+        TypeAdapter objectToInt = adapter(OBJECT, INT);
+        // The second provider is only used for types the first one can't adapt
+        TypeAdapterProvider first = (from, to) -> from.equals(OBJECT) && to.equals(STRING) ? objectToString : null;
+        TypeAdapterProvider second = (from, to) -> from.equals(OBJECT) && to.equals(STRING) ? objectToStringFallback
+            : from.equals(OBJECT) && to.equals(INT) ? objectToInt
+            : null;
+        List<TypeAdapterProvider> providers = List.of(first, second);
+
+        AtomicInteger firstCalls = new AtomicInteger();
+        AtomicInteger secondCalls = new AtomicInteger();
+        BytecodeFixerUpper bfu = new BytecodeFixerUpper(Map.of(), adapters, List.of(counting(first, firstCalls), counting(second, secondCalls)));
+
+        int staticMisses = 0;
+        int firstMisses = 0;
+        for (int i = 0; i < 2; i++) {
+            for (Type from : TYPES) {
+                for (Type to : TYPES) {
+                    TypeAdapter expected = getTypeAdapterLinear(adapters, providers, from, to);
+                    assertThat(bfu.getTypeAdapter(from, to)).as("%s to %s", from, to).isSameAs(expected);
+                    if (i == 0 && getTypeAdapterLinear(adapters, List.of(), from, to) == null) {
+                        staticMisses++;
+                        if (first.provide(from, to) == null) {
+                            firstMisses++;
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(bfu.getTypeAdapter(STRING, OPTIONAL)).isSameAs(adapters.get(0));
+        assertThat(bfu.getTypeAdapter(OBJECT, STRING)).isSameAs(objectToString);
+        assertThat(bfu.getTypeAdapter(OBJECT, INT)).isSameAs(objectToInt);
+        assertThat(bfu.getTypeAdapter(INT, STRING)).isNull();
+        // Providers are only asked once for each pair of types, including pairs no adapter exists for
+        assertThat(firstCalls).hasValue(staticMisses);
+        assertThat(secondCalls).hasValue(firstMisses);
+    }
+
+    @Test
+    void testSupplierAdapter() throws Exception {
+        Type supplier = Type.getType(Supplier.class);
+        BytecodeFixerUpper bfu = new BytecodeFixerUpper(Map.of(), List.of(adapter(supplier, OPTIONAL)));
+
+        TypeAdapter adapter = bfu.getTypeAdapter(supplier, STRING);
+        assertThat(adapter).isNotNull();
+        InsnList insns = new InsnList();
+        insns.add(new FieldInsnNode(Opcodes.GETFIELD, "org/sinytra/adapter/test/classes/Target", "name", supplier.getDescriptor()));
+        adapter.apply(insns, insns.getFirst());
+        assertThat(insns.get(1)).isInstanceOfSatisfying(MethodInsnNode.class, insn -> assertThat(insn.name).isEqualTo("get"));
+        assertThat(insns.get(2)).isInstanceOfSatisfying(TypeInsnNode.class, insn -> assertThat(insn.desc).isEqualTo(STRING.getInternalName()));
+
+        // Registered adapters take precedence over providers
+        assertThat(bfu.getTypeAdapter(supplier, OPTIONAL)).isInstanceOf(SimpleTypeAdapter.class);
+        assertThat(bfu.getTypeAdapter(supplier, INT)).isNull();
+
+        // Concurrent lookups share the memoized adapter
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TypeAdapter>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> bfu.getTypeAdapter(supplier, STRING)));
+            }
+            for (Future<TypeAdapter> future : futures) {
+                assertThat(future.get()).isSameAs(adapter);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Lookup without the adapter index and provider cache
+    private static TypeAdapter getTypeAdapterLinear(List<TypeAdapter> adapters, List<TypeAdapterProvider> providers, Type from, Type to) {
+        for (TypeAdapter adapter : adapters) {
+            if (adapter.from().equals(from) && adapter.to().equals(to)) {
+                return adapter;
+            }
+        }
+        for (TypeAdapterProvider provider : providers) {
+            TypeAdapter adapter = provider.provide(from, to);
+            if (adapter != null) {
+                return adapter;
+            }
+        }
+        return null;
+    }
+
+    private static TypeAdapterProvider counting(TypeAdapterProvider provider, AtomicInteger calls) {
+        return (from, to) -> {
+            calls.incrementAndGet();
+            return provider.provide(from, to);
+        };
+    }
+
+    private static TypeAdapter adapter(Type from, Type to) {
+        return new SimpleTypeAdapter(from, to, (list, target) -> {});
+    }
+}
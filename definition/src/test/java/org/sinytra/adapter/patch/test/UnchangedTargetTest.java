@@ -0,0 +1,178 @@
+package org.sinytra.adapter.patch.test;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.*;
+import org.sinytra.adapter.patch.LVTOffsets;
+import org.sinytra.adapter.patch.api.MethodContext;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.selector.AnnotationHandle;
+import org.sinytra.adapter.patch.transformer.dynamic.DynamicInjectorOrdinalPatch;
+import org.sinytra.adapter.patch.transformer.dynamic.DynamicLVTPatch;
+import org.sinytra.adapter.patch.transformer.dynamic.DynamicModifyVarAtReturnPatch;
+import org.sinytra.adapter.patch.util.MethodQualifier;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UnchangedTargetTest {
+    private static final String TARGET_CLASS = "org/sinytra/adapter/test/Target";
+    private static final String TARGET_DESC = "(ZZ)I";
+
+    @Test
+    void testOrdinalPatchSkipsUnchangedTarget() {
+        AnnotationNode at = injectionPoint("RETURN", 1);
+        StubContext stub = new StubContext(true, annotation(MixinConstants.INJECT), at);
+        Patch.Result result = new DynamicInjectorOrdinalPatch().apply(mixinClass(), handler("()V"), stub.create(), null);
+
+        assertThat(result).isEqualTo(Patch.Result.PASS);
+        assertThat(stub.calls).doesNotContain("findCleanInjectionTarget", "findDirtyInjectionTarget");
+        assertThat(new AnnotationHandle(at).<Integer>getValue("ordinal").orElseThrow().get()).isEqualTo(1);
+    }
+
+    @Test
+    void testOrdinalPatchAppliesToChangedTarget() {
+        AnnotationNode at = injectionPoint("RETURN", 1);
+        StubContext stub = new StubContext(false, annotation(MixinConstants.INJECT), at);
+        Patch.Result result = new DynamicInjectorOrdinalPatch().apply(mixinClass(), handler("()V"), stub.create(), null);
+
+        assertThat(result).isEqualTo(Patch.Result.APPLY);
+        // An early return was added in front of both returns of the clean method
+        assertThat(new AnnotationHandle(at).<Integer>getValue("ordinal").orElseThrow().get()).isEqualTo(2);
+    }
+
+    @Test
+    void testModifyVarAtReturnPatchSkipsUnchangedTarget() {
+        StubContext stub = new StubContext(true, annotation(MixinConstants.MODIFY_VAR), injectionPoint("RETURN", 0));
+        Patch.Result result = new DynamicModifyVarAtReturnPatch().apply(mixinClass(), handler("(I)I"), stub.create(), null);
+
+        assertThat(result).isEqualTo(Patch.Result.PASS);
+        assertThat(stub.calls).doesNotContain("findCleanInjectionTarget", "findDirtyInjectionTarget", "findInjectionTargetInsns");
+    }
+
+    @Test
+    void testModifyVarAtReturnPatchResolvesChangedTarget() {
+        StubContext stub = new StubContext(false, annotation(MixinConstants.MODIFY_VAR), injectionPoint("RETURN", 0));
+        stub.resolveTargets = false;
+        new DynamicModifyVarAtReturnPatch().apply(mixinClass(), handler("(I)I"), stub.create(), null);
+
+        assertThat(stub.calls).contains("findCleanInjectionTarget");
+    }
+
+    @Test
+    void testLVTPatchSkipsUnchangedTarget() {
+        AnnotationNode modifyVar = annotation(MixinConstants.MODIFY_VAR, "index", 1);
+        StubContext stub = new StubContext(true, modifyVar, injectionPoint("RETURN", 0));
+        stub.resolveTargets = false;
+        AtomicInteger offsetLookups = new AtomicInteger();
+        Patch.Result result = new DynamicLVTPatch(() -> {
+            offsetLookups.incrementAndGet();
+            return reorders();
+        }).apply(mixinClass(), handler("(I)I"), stub.create(), null);
+
+        assertThat(result).isEqualTo(Patch.Result.PASS);
+        assertThat(offsetLookups).hasValue(0);
+        assertThat(new AnnotationHandle(modifyVar).<Integer>getValue("index").orElseThrow().get()).isEqualTo(1);
+    }
+
+    @Test
+    void testLVTPatchAppliesToChangedTarget() {
+        AnnotationNode modifyVar = annotation(MixinConstants.MODIFY_VAR, "index", 1);
+        StubContext stub = new StubContext(false, modifyVar, injectionPoint("RETURN", 0));
+        Patch.Result result = new DynamicLVTPatch(UnchangedTargetTest::reorders).apply(mixinClass(), handler("(I)I"), stub.create(), null);
+
+        assertThat(result).isEqualTo(Patch.Result.APPLY);
+        assertThat(new AnnotationHandle(modifyVar).<Integer>getValue("index").orElseThrow().get()).isEqualTo(2);
+    }
+
+    private static LVTOffsets reorders() {
+        MethodQualifier qualifier = new MethodQualifier(null, "test", TARGET_DESC);
+        return new LVTOffsets(Map.of(TARGET_CLASS, Map.of(qualifier, List.of(new LVTOffsets.Swap(1, 2)))));
+    }
+
+    private static ClassNode mixinClass() {
+        ClassNode classNode = new ClassNode();
+        classNode.name = "org/sinytra/adapter/test/TargetMixin";
+        return classNode;
+    }
+
+    private static MethodNode handler(String desc) {
+        return new MethodNode(Opcodes.ACC_PRIVATE, "handler", desc, null, null);
+    }
+
+    private static AnnotationNode annotation(String desc, Object... values) {
+        AnnotationNode annotation = new AnnotationNode(desc);
+        if (values.length > 0) {
+            annotation.values = new ArrayList<>(List.of(values));
+        }
+        return annotation;
+    }
+
+    private static AnnotationNode injectionPoint(String value, int ordinal) {
+        return annotation(MixinConstants.AT, "value", value, "ordinal", ordinal);
+    }
+
+    // if (a) return 1; return 2;
+    private static MethodNode cleanTarget() {
+        MethodNode method = new MethodNode(Opcodes.ACC_PUBLIC, "test", TARGET_DESC, null, null);
+        LabelNode label = new LabelNode();
+        method.instructions.add(new VarInsnNode(Opcodes.ILOAD, 1));
+        method.instructions.add(new JumpInsnNode(Opcodes.IFEQ, label));
+        method.instructions.add(new InsnNode(Opcodes.ICONST_1));
+        method.instructions.add(new InsnNode(Opcodes.IRETURN));
+        method.instructions.add(label);
+        method.instructions.add(new InsnNode(Opcodes.ICONST_2));
+        method.instructions.add(new InsnNode(Opcodes.IRETURN));
+        return method;
+    }
+
+    // if (b) return 5; if (a) return 1; return 2;
+    private static MethodNode dirtyTarget() {
+        MethodNode method = cleanTarget();
+        LabelNode label = new LabelNode();
+        InsnList insns = new InsnList();
+        insns.add(new VarInsnNode(Opcodes.ILOAD, 2));
+        insns.add(new JumpInsnNode(Opcodes.IFEQ, label));
+        insns.add(new InsnNode(Opcodes.ICONST_5));
+        insns.add(new InsnNode(Opcodes.IRETURN));
+        insns.add(label);
+        method.instructions.insert(insns);
+        return method;
+    }
+
+    private static class StubContext {
+        private final boolean unchangedTarget;
+        private final AnnotationHandle methodAnnotation;
+        private final AnnotationHandle injectionPoint;
+        private final List<String> calls = new ArrayList<>();
+        private boolean resolveTargets = true;
+
+        private StubContext(boolean unchangedTarget, AnnotationNode methodAnnotation, AnnotationNode injectionPoint) {
+            this.unchangedTarget = unchangedTarget;
+            this.methodAnnotation = new AnnotationHandle(methodAnnotation);
+            this.injectionPoint = new AnnotationHandle(injectionPoint);
+        }
+
+        private MethodContext create() {
+            ClassNode targetClass = new ClassNode();
+            targetClass.name = TARGET_CLASS;
+            return (MethodContext) Proxy.newProxyInstance(UnchangedTargetTest.class.getClassLoader(), new Class<?>[]{MethodContext.class}, (proxy, method, args) -> {
+                this.calls.add(method.getName());
+                return switch (method.getName()) {
+                    case "hasUnchangedTarget" -> this.unchangedTarget;
+                    case "methodAnnotation" -> this.methodAnnotation;
+                    case "injectionPointAnnotation", "injectionPointAnnotationOrThrow" -> this.injectionPoint;
+                    case "findCleanInjectionTarget" -> this.resolveTargets ? new MethodContext.TargetPair(targetClass, cleanTarget()) : null;
+                    case "findDirtyInjectionTarget" -> this.resolveTargets ? new MethodContext.TargetPair(targetClass, dirtyTarget()) : null;
+                    case "getLvtCompatLevelsOrdered" -> List.of();
+                    case "capturesLocals", "isStatic", "failsDirtyInjectionCheck" -> false;
+                    default -> null;
+                };
+            });
+        }
+    }
+}
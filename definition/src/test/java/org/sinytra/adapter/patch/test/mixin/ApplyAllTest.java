@@ -0,0 +1,98 @@
+package org.sinytra.adapter.patch.test.mixin;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceClassVisitor;
+import org.sinytra.adapter.patch.PatchInstance;
+import org.sinytra.adapter.patch.api.MethodTransform;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Patches applied through {@link PatchInstance#applyAll} share one patch context per mixin class.
+ */
+public class ApplyAllTest extends MixinPatchTest {
+    private static final String MIXIN = "org/sinytra/adapter/test/mixins/ParameterSwapMixin";
+
+    @Test
+    void testApplyAllMatchesSequentialApply() throws Exception {
+        PatchEnvironment environment = createEnvironment();
+
+        List<String> sequentialLog = new ArrayList<>();
+        ClassNode sequential = load(MIXIN);
+        Patch.Result sequentialResult = Patch.Result.PASS;
+        for (Patch patch : createPatches(sequentialLog)) {
+            sequentialResult = sequentialResult.or(patch.apply(sequential, environment));
+        }
+
+        List<String> sharedLog = new ArrayList<>();
+        ClassNode shared = load(MIXIN);
+        Patch.Result sharedResult = PatchInstance.applyAll(shared, createPatches(sharedLog), environment);
+
+        assertThat(sharedResult).isEqualTo(sequentialResult).isNotEqualTo(Patch.Result.PASS);
+        assertThat(sharedLog).isEqualTo(sequentialLog);
+        // Later patches observe the injection target modified by an earlier patch
+        assertThat(sharedLog).containsExactly("record testSwap", "record testBigSwap");
+        assertThat(textify(shared)).isEqualTo(textify(sequential));
+    }
+
+    @Test
+    void testApplyAllSwapsParameters() throws Exception {
+        ClassNode patched = load(MIXIN);
+        Patch.Result result = PatchInstance.applyAll(patched, createPatches(new ArrayList<>()), createEnvironment());
+        assertThat(result).isNotEqualTo(Patch.Result.PASS);
+
+        LoadResult loadResult = new LoadResult(patched, load(MIXIN));
+        assertSameCode(loadResult, "testSwap");
+        assertSameCode(loadResult, "testComplexSwap");
+    }
+
+    private static List<Patch> createPatches(List<String> log) {
+        MethodTransform record = recorder("record", log);
+        return List.of(
+            Patch.builder()
+                .targetInjectionPoint("")
+                .targetMethod("injectTarget")
+                .targetMixinType(MixinConstants.INJECT)
+                .transform(record)
+                .transformParams(params -> params.swap(0, 1))
+                .build(),
+            Patch.builder()
+                .targetInjectionPoint("")
+                .targetMethod("injectTarget2")
+                .targetMixinType(MixinConstants.INJECT)
+                .transformParams(params -> params.swap(2, 1).swap(1, 0))
+                .build(),
+            // Does not match the mixin
+            Patch.builder()
+                .targetClass("org/sinytra/adapter/test/classes/ParameterInline")
+                .transform(record)
+                .build(),
+            Patch.builder()
+                .targetMethod("injectTarget3")
+                .targetMixinType(MixinConstants.INJECT)
+                .modifyTarget("renamedTarget(Ljava/lang/String;J)V")
+                .build(),
+            Patch.builder()
+                .targetMethod("renamedTarget")
+                .targetMixinType(MixinConstants.INJECT)
+                .transform(record)
+                .build()
+        );
+    }
+
+    private static String textify(ClassNode classNode) {
+        StringWriter writer = new StringWriter();
+        classNode.accept(new TraceClassVisitor(null, new Textifier(), new PrintWriter(writer)));
+        return writer.toString();
+    }
+}
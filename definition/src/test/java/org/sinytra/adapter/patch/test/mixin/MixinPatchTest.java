@@ -1,19 +1,16 @@
 package org.sinytra.adapter.patch.test.mixin;
 
-import org.sinytra.adapter.patch.api.Patch;
-import org.sinytra.adapter.patch.api.PatchEnvironment;
-import org.sinytra.adapter.patch.api.RefmapHolder;
+import org.sinytra.adapter.patch.api.*;
 import org.assertj.core.api.Assertions;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 import org.spongepowered.asm.mixin.FabricUtil;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -21,7 +18,13 @@ import java.util.stream.StreamSupport;
 public abstract class MixinPatchTest {
     protected LoadResult load(String className, Patch patch) throws Exception {
         final ClassNode patched = load(className);
-        final PatchEnvironment env = PatchEnvironment.create(
+        final PatchEnvironment env = createEnvironment();
+        patch.apply(patched, env);
+        return new LoadResult(patched, load(className));
+    }
+
+    protected PatchEnvironment createEnvironment() {
+        return PatchEnvironment.create(
             new RefmapHolder() {
                 @Override
                 public String remap(String cls, String reference) {
@@ -45,8 +48,6 @@ public abstract class MixinPatchTest {
             null,
             FabricUtil.COMPATIBILITY_LATEST
         );
-        patch.apply(patched, env);
-        return new LoadResult(patched, load(className));
     }
 
     protected void assertSameCode(
@@ -54,7 +55,10 @@ public abstract class MixinPatchTest {
         String testName,
         Patch.ClassPatchBuilder patch
     ) throws Exception {
-        final LoadResult result = load(className, patch.build());
+        assertSameCode(load(className, patch.build()), testName);
+    }
+
+    protected void assertSameCode(LoadResult result, String testName) {
         final MethodNode patched = result.patched.methods
             .stream().filter(m -> m.name.equals(testName))
             .findFirst().orElseThrow();
@@ -95,6 +99,63 @@ public abstract class MixinPatchTest {
             .containsExactlyInAnyOrder(expected.localVariables.toArray(LocalVariableNode[]::new));
     }
 
+    /**
+     * Creates a mixin class without members.
+     *
+     * @param targetKey whether the targets are listed as types in {@code value} or by name in {@code targets}
+     */
+    public static ClassNode createMixin(String name, String targetKey, List<?> targets) {
+        final ClassNode node = new ClassNode();
+        node.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, name, null, "java/lang/Object", null);
+        final AnnotationNode mixin = new AnnotationNode(MixinConstants.MIXIN);
+        mixin.values = new ArrayList<>(List.of(targetKey, targets));
+        node.invisibleAnnotations = new ArrayList<>(List.of(mixin));
+        return node;
+    }
+
+    /**
+     * Adds a handler method that only returns to a mixin class.
+     *
+     * @param at the injection point, or {@code null} to omit it
+     */
+    public static MethodNode addHandler(ClassNode mixin, String name, String desc, String annotationDesc, String targetMethod, AnnotationNode at) {
+        final MethodNode method = new MethodNode(Opcodes.ACC_PRIVATE, name, desc, null, null);
+        final AnnotationNode annotation = new AnnotationNode(annotationDesc);
+        annotation.values = new ArrayList<>(List.of("method", new ArrayList<>(List.of(targetMethod))));
+        if (at != null) {
+            annotation.values.addAll(List.of("at", at));
+        }
+        method.visibleAnnotations = new ArrayList<>(List.of(annotation));
+        method.instructions.add(new InsnNode(Opcodes.RETURN));
+        mixin.methods.add(method);
+        return method;
+    }
+
+    /**
+     * {@return a transform accepting every mixin type that logs the methods it is applied to}
+     */
+    public static MethodTransform recorder(String name, List<String> log) {
+        return new RecordingTransform(name, Set.of(), true, log);
+    }
+
+    public record RecordingTransform(String name, Collection<String> accepted, boolean applicable, List<String> log) implements MethodTransform {
+        @Override
+        public Collection<String> getAcceptedAnnotations() {
+            return this.accepted;
+        }
+
+        @Override
+        public boolean isApplicable(MethodNode methodNode, MethodContext methodContext) {
+            return this.applicable;
+        }
+
+        @Override
+        public Patch.Result apply(ClassNode classNode, MethodNode methodNode, MethodContext methodContext, PatchContext context) {
+            this.log.add(this.name + " " + methodNode.name);
+            return Patch.Result.PASS;
+        }
+    }
+
     public static class InsnComparator implements Comparator<AbstractInsnNode> {
         @Override
         public int compare(AbstractInsnNode o1, AbstractInsnNode o2) {
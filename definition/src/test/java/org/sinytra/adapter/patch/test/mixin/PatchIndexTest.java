@@ -0,0 +1,170 @@
+package org.sinytra.adapter.patch.test.mixin;
+
+import com.mojang.serialization.Codec;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.PatchIndex;
+import org.sinytra.adapter.patch.PatchInstance;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+import org.sinytra.adapter.patch.selector.InjectionPointMatcher;
+import org.sinytra.adapter.patch.selector.MethodMatcher;
+import org.sinytra.adapter.patch.util.MethodQualifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PatchIndex} candidate lookups and the hashed prefilters of class, method and injection point
+ * targets.
+ */
+public class PatchIndexTest extends MixinPatchTest {
+    private static final String SWAP_MIXIN = "org/sinytra/adapter/test/mixins/ParameterSwapMixin";
+    private static final String SWAP = "org/sinytra/adapter/test/classes/ParameterSwap";
+    private static final String OTHER = "org/sinytra/adapter/test/classes/ParameterInline";
+    private static final String HIDDEN = "org/sinytra/adapter/test/classes/Hidden";
+    private static final String METHOD = "injectTarget(Ljava/lang/String;I)V";
+
+    @Test
+    void testCandidatesMatchFullList() throws Exception {
+        List<String> indexLog = new ArrayList<>();
+        List<String> fullLog = new ArrayList<>();
+        List<Patch> indexPatches = createPatches(indexLog);
+        List<Patch> fullPatches = createPatches(fullLog);
+        PatchIndex index = PatchIndex.create(indexPatches);
+        PatchEnvironment environment = createEnvironment();
+
+        assertThat(index.getCandidates(load(SWAP_MIXIN))).containsExactly(indexPatches.get(0), indexPatches.get(2), indexPatches.get(3), indexPatches.get(5));
+        assertThat(index.getCandidates(createIndexMixin("targets", List.of(HIDDEN), null))).containsExactly(indexPatches.get(2), indexPatches.get(4), indexPatches.get(5));
+
+        List<ClassNode> indexed = List.of(load(SWAP_MIXIN), createIndexMixin("targets", List.of(HIDDEN), null), createIndexMixin("value", List.of(Type.getObjectType(OTHER)), null), new ClassNode());
+        List<ClassNode> full = List.of(load(SWAP_MIXIN), createIndexMixin("targets", List.of(HIDDEN), null), createIndexMixin("value", List.of(Type.getObjectType(OTHER)), null), new ClassNode());
+        for (int i = 0; i < indexed.size(); i++) {
+            List<Patch> candidates = index.getCandidates(indexed.get(i));
+            // Candidates keep the order of the patch list
+            assertThat(candidates).isEqualTo(indexPatches.stream().filter(candidates::contains).toList());
+
+            indexLog.clear();
+            fullLog.clear();
+            Patch.Result indexResult = index.apply(indexed.get(i), environment);
+            Patch.Result fullResult = PatchInstance.applyAll(full.get(i), fullPatches, environment);
+            assertThat(indexResult).isEqualTo(fullResult);
+            assertThat(indexLog).isEqualTo(fullLog);
+        }
+    }
+
+    @Test
+    void testInjectionPointMatchesAllMatchers() {
+        String[] patchTargets = {"L" + SWAP + ";print(Ljava/lang/String;)V", "print(Ljava/lang/String;)V", "print", "print(I)V",
+            "L" + SWAP + ";field:I", "field:I", SWAP, ""};
+        String[] atTargets = {"L" + SWAP + ";print(Ljava/lang/String;)V", "L" + OTHER + ";print(Ljava/lang/String;)V", "print(Ljava/lang/String;)V",
+            "L" + SWAP + ";print(I)V", "L" + SWAP + ";field:I", SWAP, null};
+        String[] values = {null, "INVOKE", "FIELD"};
+        PatchEnvironment environment = createEnvironment();
+
+        for (String patchTarget : patchTargets) {
+            for (String patchValue : values) {
+                for (String atTarget : atTargets) {
+                    List<String> log = new ArrayList<>();
+                    Patch patch = Patch.builder()
+                        .targetInjectionPoint(patchValue, patchTarget)
+                        // A second matcher sharing no key with the first
+                        .targetInjectionPoint("INVOKE", "unrelated()V")
+                        .transform(recorder("patch", log))
+                        .build();
+                    AnnotationNode at = new AnnotationNode(MixinConstants.AT);
+                    at.values = new ArrayList<>(List.of("value", "INVOKE"));
+                    if (atTarget != null) {
+                        at.values.addAll(List.of("target", atTarget));
+                    }
+                    patch.apply(createIndexMixin("value", List.of(Type.getObjectType(SWAP)), at), environment);
+
+                    boolean expected = new InjectionPointMatcher(patchValue, patchTarget).test("INVOKE", atTarget != null ? atTarget : "");
+                    assertThat(!log.isEmpty()).as("%s %s matching %s", patchValue, patchTarget, atTarget).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTargetMethodMatchesAllMatchers() {
+        String[] patchMethods = {"injectTarget", METHOD, "injectTarget(I)V", "other"};
+        String[] mixinMethods = {METHOD, "injectTarget", "L" + SWAP + ";" + METHOD, "injectTarget(I)V", "other()V"};
+        PatchEnvironment environment = createEnvironment();
+
+        for (String patchMethod : patchMethods) {
+            for (String mixinMethod : mixinMethods) {
+                List<String> log = new ArrayList<>();
+                Patch patch = Patch.builder()
+                    .targetMethod(patchMethod, "unrelated")
+                    .transform(recorder("patch", log))
+                    .build();
+                ClassNode mixin = createIndexMixin("value", List.of(Type.getObjectType(SWAP)), null);
+                mixin.methods.get(0).visibleAnnotations.get(0).values.set(1, new ArrayList<>(List.of(mixinMethod)));
+                patch.apply(mixin, environment);
+
+                MethodQualifier qualifier = MethodQualifier.create(mixinMethod).orElseThrow();
+                boolean expected = Arrays.stream(new String[]{patchMethod, "unrelated"}).anyMatch(p -> new MethodMatcher(p).matches(qualifier.name(), qualifier.desc()));
+                assertThat(!log.isEmpty()).as("%s matching %s", patchMethod, mixinMethod).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void testIndexedApplyOnMixinFixture() throws Exception {
+        PatchIndex index = PatchIndex.create(List.of(
+            // Would break the swaps below if it were applied to the mixin
+            Patch.builder().targetClass(OTHER).targetMixinType(MixinConstants.INJECT).transformParams(params -> params.swap(0, 1)).build(),
+            Patch.builder().targetClass(SWAP).targetInjectionPoint("").targetMethod("injectTarget").targetMixinType(MixinConstants.INJECT)
+                .transformParams(params -> params.swap(0, 1)).build(),
+            Patch.builder().targetInjectionPoint("").targetMethod("injectTarget3").targetMixinType(MixinConstants.INJECT)
+                .transformParams(params -> params.swap(0, 1)).build()
+        ));
+        ClassNode patched = load(SWAP_MIXIN);
+        assertThat(index.apply(patched, createEnvironment())).isNotEqualTo(Patch.Result.PASS);
+
+        LoadResult result = new LoadResult(patched, load(SWAP_MIXIN));
+        assertSameCode(result, "testSwap");
+        assertSameCode(result, "testBigSwap");
+        // Not targeted by any patch
+        assertThat(patched.methods).filteredOn(m -> m.name.equals("testComplexSwap")).extracting(m -> m.desc)
+            .containsExactly("(ISLjava/lang/String;Lorg/spongepowered/asm/mixin/injection/callback/CallbackInfo;)V");
+    }
+
+    private static List<Patch> createPatches(List<String> log) {
+        return List.of(
+            Patch.builder().targetClass(SWAP).transform(recorder("swap", log)).build(),
+            Patch.builder().targetClass(OTHER).transform(recorder("other", log)).build(),
+            Patch.builder().transform(recorder("wildcard", log)).build(),
+            Patch.builder().targetClass(OTHER, SWAP).transform(recorder("otherOrSwap", log)).build(),
+            Patch.builder().targetClass(HIDDEN).transform(recorder("hidden", log)).build(),
+            new Patch() {
+                @Override
+                public Result apply(ClassNode classNode, PatchEnvironment remaper) {
+                    log.add("foreign " + classNode.name);
+                    return Result.PASS;
+                }
+
+                @Override
+                public Codec<? extends Patch> codec() {
+                    throw new UnsupportedOperationException();
+                }
+            }
+        );
+    }
+
+    /**
+     * Creates a mixin with a single {@code @Inject} method targeting {@value METHOD}.
+     */
+    private static ClassNode createIndexMixin(String targetKey, List<?> targets, AnnotationNode at) {
+        ClassNode node = createMixin("org/sinytra/adapter/test/mixins/IndexMixin", targetKey, targets);
+        addHandler(node, "injectHandler", "(Lorg/spongepowered/asm/mixin/injection/callback/CallbackInfo;)V", MixinConstants.INJECT, METHOD, at);
+        return node;
+    }
+}
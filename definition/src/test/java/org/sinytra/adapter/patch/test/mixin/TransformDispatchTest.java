@@ -0,0 +1,116 @@
+package org.sinytra.adapter.patch.test.mixin;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.PatchMetrics;
+import org.sinytra.adapter.patch.api.MixinConstants;
+import org.sinytra.adapter.patch.api.Patch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Method transforms are looked up by the mixin annotation of each method. Transforms run in patch order and
+ * only for the mixin types they accept.
+ */
+public class TransformDispatchTest extends MixinPatchTest {
+    private static final List<String> ANNOTATIONS = List.of(MixinConstants.INJECT, MixinConstants.MODIFY_VAR, MixinConstants.REDIRECT, MixinConstants.MODIFY_ARG, MixinConstants.MODIFY_CONST);
+
+    @Test
+    void testDispatchMatchesFilteredTransforms() {
+        List<String> log = new ArrayList<>();
+        List<RecordingTransform> transforms = List.of(
+            new RecordingTransform("any", Set.of(), true, log),
+            new RecordingTransform("inject", Set.of(MixinConstants.INJECT), true, log),
+            new RecordingTransform("injectOrRedirect", Set.of(MixinConstants.INJECT, MixinConstants.REDIRECT), true, log),
+            new RecordingTransform("skippedAny", Set.of(), false, log),
+            new RecordingTransform("modifyVar", Set.of(MixinConstants.MODIFY_VAR), true, log),
+            new RecordingTransform("skippedRedirect", Set.of(MixinConstants.REDIRECT), false, log),
+            new RecordingTransform("anyLast", Set.of(), true, log)
+        );
+        Patch.ClassPatchBuilder builder = Patch.builder();
+        transforms.forEach(builder::transform);
+        Patch patch = builder.build();
+
+        ClassNode classNode = createDispatchMixin();
+        patch.apply(classNode, createEnvironment());
+
+        // Reference order: every mixin method, then every transform of the patch that accepts its annotation
+        List<String> expected = new ArrayList<>();
+        long skipped = 0;
+        for (MethodNode method : classNode.methods) {
+            String annotation = method.visibleAnnotations.get(0).desc;
+            for (RecordingTransform transform : transforms) {
+                if (transform.accepted().isEmpty() || transform.accepted().contains(annotation)) {
+                    if (transform.applicable()) {
+                        expected.add(transform.name() + " " + method.name);
+                    } else {
+                        skipped++;
+                    }
+                }
+            }
+        }
+        assertThat(log).isEqualTo(expected);
+
+        PatchMetrics metrics = PatchMetrics.collect(List.of(patch));
+        assertThat(metrics.invocationCounts()).containsEntry(RecordingTransform.class.getName(), (long) expected.size());
+        assertThat(metrics.skipCounts()).containsEntry(RecordingTransform.class.getName(), skipped);
+    }
+
+    @Test
+    void testDispatchFollowsMixinTypeChange() {
+        List<String> log = new ArrayList<>();
+        Patch patch = Patch.builder()
+            .targetMixinType(MixinConstants.INJECT)
+            .transform(new RecordingTransform("inject", Set.of(MixinConstants.INJECT), true, log))
+            .transform(new RecordingTransform("modifyVarBefore", Set.of(MixinConstants.MODIFY_VAR), true, log))
+            .modifyMixinType(MixinConstants.MODIFY_VAR, b -> b.sameTarget())
+            .transform(new RecordingTransform("injectAfter", Set.of(MixinConstants.INJECT), true, log))
+            .transform(new RecordingTransform("modifyVarAfter", Set.of(MixinConstants.MODIFY_VAR), true, log))
+            .transform(new RecordingTransform("anyAfter", Set.of(), true, log))
+            .build();
+
+        ClassNode classNode = createDispatchMixin();
+        patch.apply(classNode, createEnvironment());
+
+        // Transforms following the type change see the new annotation, earlier transforms are not revisited
+        assertThat(log).containsExactly(
+            "inject handler0", "modifyVarAfter handler0", "anyAfter handler0",
+            "inject handler5", "modifyVarAfter handler5", "anyAfter handler5"
+        );
+        assertThat(classNode.methods.get(0).visibleAnnotations).extracting(a -> a.desc).containsExactly(MixinConstants.MODIFY_VAR);
+    }
+
+    // Method transforms accepting other mixin types don't affect injectors of the real fixture
+    @Test
+    void testDispatchOnMixinFixture() throws Exception {
+        List<String> log = new ArrayList<>();
+        assertSameCode(
+            "org/sinytra/adapter/test/mixins/ParameterSwapMixin",
+            "testSwap",
+            Patch.builder()
+                .targetInjectionPoint("")
+                .targetMethod("injectTarget")
+                .transform(new RecordingTransform("redirect", Set.of(MixinConstants.REDIRECT), true, log))
+                .transformParams(params -> params.swap(0, 1))
+                .transform(new RecordingTransform("inject", Set.of(MixinConstants.INJECT), true, log))
+        );
+        assertThat(log).containsExactly("inject testSwap");
+    }
+
+    private static ClassNode createDispatchMixin() {
+        ClassNode node = createMixin("org/sinytra/adapter/test/mixins/DispatchMixin", "value", List.of(Type.getObjectType("org/sinytra/adapter/test/classes/ParameterSwap")));
+        // Two methods per annotation to check the order within a method as well as across methods
+        for (int i = 0; i < 2; i++) {
+            for (String annotation : ANNOTATIONS) {
+                addHandler(node, "handler" + node.methods.size(), "()V", annotation, "injectTarget(Ljava/lang/String;I)V", null);
+            }
+        }
+        return node;
+    }
+}
@@ -43,6 +43,7 @@ dependencies {
 
     implementation(group = "org.sinytra.adapter", name = "definition")
     implementation(group = "org.apache.commons", name = "commons-lang3", version = "3.13.0")
+    implementation(group = "com.github.jponge", name = "lzma-java", version = "1.3")
 
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
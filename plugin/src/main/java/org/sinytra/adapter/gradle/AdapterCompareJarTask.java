@@ -5,14 +5,19 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.mojang.serialization.JsonOps;
+import org.sinytra.adapter.gradle.analysis.CallSiteIndex;
+import org.sinytra.adapter.gradle.util.AnalysisProfiler;
+import org.sinytra.adapter.gradle.util.BinpatchClassSelector;
+import org.sinytra.adapter.gradle.util.MethodFingerprinter;
+import org.sinytra.adapter.gradle.util.MethodMappings;
 import org.sinytra.adapter.patch.util.provider.ClassLookup;
+import org.sinytra.adapter.patch.util.provider.SnapshotClassLookup;
 import org.sinytra.adapter.patch.util.provider.ZipClassLookup;
 import org.sinytra.adapter.patch.LVTOffsets;
+import org.sinytra.adapter.patch.MethodFingerprints;
 import org.sinytra.adapter.patch.api.Patch;
 import org.sinytra.adapter.patch.PatchInstance;
-import org.sinytra.adapter.patch.serialization.PatchSerialization;
+import org.sinytra.adapter.patch.serialization.PatchStreamWriter;
 import org.sinytra.adapter.patch.util.MethodQualifier;
 import net.minecraftforge.srgutils.IMappingFile;
 import org.gradle.api.DefaultTask;
@@ -20,11 +25,15 @@ import org.gradle.api.file.Directory;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.*;
+import org.gradle.api.tasks.Optional;
 import org.slf4j.Logger;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,6 +42,8 @@ import java.util.zip.ZipFile;
 
 @CacheableTask
 public abstract class AdapterCompareJarTask extends DefaultTask {
+    private static final int PROFILE_SLOWEST_CLASSES = 50;
+
     @InputFile
     @PathSensitive(PathSensitivity.RELATIVE)
     public abstract RegularFileProperty getCleanJar();
@@ -45,16 +56,44 @@ public abstract class AdapterCompareJarTask extends DefaultTask {
     @PathSensitive(PathSensitivity.RELATIVE)
     public abstract RegularFileProperty getSrgToMcpMappings();
 
+    /**
+     * Binpatch archive, or a userdev jar containing one, used to restrict analysis to patched classes and their subclasses.
+     * All classes are analyzed when absent.
+     */
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract RegularFileProperty getBinpatches();
+
     @OutputFile
     public abstract RegularFileProperty getPatchDataOutput();
 
     @OutputFile
     public abstract RegularFileProperty getLVTOffsetDataOutput();
 
+    /**
+     * Phase timings of the last execution. Not a cached output, as restoring it from the build cache would report
+     * timings of another run.
+     */
+    @Internal
+    public abstract RegularFileProperty getProfileOutput();
+
+    /**
+     * Clean classes that differ from the dirty jar, for use with {@link SnapshotClassLookup} in place of the full clean jar.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getCleanSnapshotOutput();
+
+    @OutputFile
+    public abstract RegularFileProperty getMethodFingerprintsOutput();
+
     public AdapterCompareJarTask() {
         Provider<Directory> outputDir = getProject().getLayout().getBuildDirectory().dir(getName());
         getPatchDataOutput().convention(outputDir.map(dir -> dir.file("patch_data.json")));
         getLVTOffsetDataOutput().convention(outputDir.map(dir -> dir.file("lvt_offsets.json")));
+        getProfileOutput().convention(outputDir.map(dir -> dir.file("profile.json")));
+        getCleanSnapshotOutput().convention(outputDir.map(dir -> dir.file("clean_snapshot.zip")));
+        getMethodFingerprintsOutput().convention(outputDir.map(dir -> dir.file("method_fingerprints.json")));
     }
 
     @TaskAction
@@ -65,59 +104,123 @@ public abstract class AdapterCompareJarTask extends DefaultTask {
         logger.info("Clean jar: " + getCleanJar().get().getAsFile().getAbsolutePath());
         logger.info("Dirty jar: " + getDirtyJar().get().getAsFile().getAbsolutePath());
         logger.info("Mappings : " + getSrgToMcpMappings().get().getAsFile().getAbsolutePath());
+        if (getBinpatches().isPresent()) {
+            logger.info("Patches  : " + getBinpatches().get().getAsFile().getAbsolutePath());
+        }
 
-        List<Patch> patches = new ArrayList<>();
         Multimap<ChangeCategory, String> info = HashMultimap.create();
         Map<String, String> replacementCalls = new HashMap<>();
-        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = new HashMap<>();
+        AnalysisProfiler profiler = new AnalysisProfiler();
+        Map<String, Set<String>> changedMethods = new HashMap<>();
+        Set<String> addedClasses = new HashSet<>();
 
-        IMappingFile mappings = IMappingFile.load(getSrgToMcpMappings().get().getAsFile());
+        MethodMappings mappings = MethodMappings.create(IMappingFile.load(getSrgToMcpMappings().get().getAsFile()));
 
+        // Streamed outputs are only moved into place once the analysis has completed, as closing the writers
+        // produces valid-looking files even when it fails
+        Path patchDataTemp = getTemporaryDir().toPath().resolve("patch_data.json");
+        Path lvtOffsetTemp = getTemporaryDir().toPath().resolve("lvt_offsets.json");
+        Path snapshotTemp = getTemporaryDir().toPath().resolve("clean_snapshot.zip");
         try (final ZipFile cleanJar = new ZipFile(getCleanJar().get().getAsFile());
-             final ZipFile dirtyJar = new ZipFile(getDirtyJar().get().getAsFile())
+             final ZipFile dirtyJar = new ZipFile(getDirtyJar().get().getAsFile());
+             // Patches and offsets are written as soon as each class is analyzed
+             final PatchStreamWriter patchWriter = new PatchStreamWriter(Files.newBufferedWriter(patchDataTemp, StandardCharsets.UTF_8));
+             final LVTOffsets.StreamWriter lvtOffsetWriter = new LVTOffsets.StreamWriter(Files.newBufferedWriter(lvtOffsetTemp, StandardCharsets.UTF_8));
+             final SnapshotClassLookup.Writer snapshotWriter = new SnapshotClassLookup.Writer(new BufferedOutputStream(Files.newOutputStream(snapshotTemp)))
         ) {
             ClassLookup cleanClassProvider = new ZipClassLookup(cleanJar);
             ClassLookup dirtyClassProvider = new ZipClassLookup(dirtyJar);
             AtomicInteger counter = new AtomicInteger();
             Stopwatch stopwatch = Stopwatch.createStarted();
 
+            Set<String> selectedClasses = null;
+            if (getBinpatches().isPresent()) {
+                Set<String> patchedClasses = BinpatchClassSelector.readPatchedClasses(getBinpatches().get().getAsFile().toPath());
+                selectedClasses = BinpatchClassSelector.selectClasses(dirtyJar, patchedClasses);
+                logger.info("Found {} binpatched classes, selected {} classes for analysis", patchedClasses.size(), selectedClasses.size());
+            }
+            final Set<String> analyzedClasses = selectedClasses;
+
+            // Read all classes and index their call sites in a single pass before running the analysis
+            CallSiteIndex callSiteIndex = new CallSiteIndex();
             Collection<ClassAnalyzer> analyzers = new ArrayList<>();
-            dirtyJar.stream().forEach(entry -> {
+            profiler.phase("readClasses", () -> dirtyJar.stream().forEach(entry -> {
                 logger.debug("Processing patched entry {}", entry.getName());
 
                 final ZipEntry cleanEntry = cleanJar.getEntry(entry.getName());
-                // Skip classes added by Forge
-                if (cleanEntry == null) {
-                    return;
-                }
-
                 try {
-                    byte[] cleanData = cleanJar.getInputStream(cleanEntry).readAllBytes();
-                    byte[] dirtyData = dirtyJar.getInputStream(entry).readAllBytes();
-
-                    ClassAnalyzer analyzer = ClassAnalyzer.create(cleanData, dirtyData, mappings, cleanClassProvider, dirtyClassProvider);
+                    byte[] cleanData = null;
+                    byte[] dirtyData = null;
+                    if (entry.getName().endsWith(".class")) {
+                        String className = BinpatchClassSelector.getClassName(entry);
+                        if (cleanEntry == null) {
+                            addedClasses.add(className);
+                        } else if (entry.getCrc() == -1 || entry.getCrc() != cleanEntry.getCrc() || entry.getSize() != cleanEntry.getSize()) {
+                            cleanData = cleanJar.getInputStream(cleanEntry).readAllBytes();
+                            dirtyData = dirtyJar.getInputStream(entry).readAllBytes();
+                            snapshotWriter.addClass(className, cleanData);
+                            Set<String> changed = MethodFingerprinter.findChangedMethods(cleanData, dirtyData);
+                            if (!changed.isEmpty()) {
+                                changedMethods.put(className, changed);
+                            }
+                        } else {
+                            snapshotWriter.addUnchangedClass(className);
+                        }
+                    }
+                    // Skip classes added by Forge
+                    if (cleanEntry == null) {
+                        return;
+                    }
+                    // Skip classes unaffected by binpatches
+                    if (analyzedClasses != null && !analyzedClasses.contains(BinpatchClassSelector.getClassName(entry))) {
+                        return;
+                    }
+
+                    if (cleanData == null) {
+                        cleanData = cleanJar.getInputStream(cleanEntry).readAllBytes();
+                    }
+                    if (dirtyData == null) {
+                        dirtyData = dirtyJar.getInputStream(entry).readAllBytes();
+                    }
+
+                    ClassAnalyzer analyzer = ClassAnalyzer.create(cleanData, dirtyData, mappings, cleanClassProvider, dirtyClassProvider, callSiteIndex);
                     analyzers.add(analyzer);
-                    analyzer.analyze(patches, info, replacementCalls, reorders);
-
-                    counter.getAndIncrement();
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
-            });
+            }));
+            // Clean classes removed from the dirty jar can not be resolved through the dirty lookup
+            for (ZipEntry cleanEntry : Collections.list(cleanJar.entries())) {
+                if (cleanEntry.getName().endsWith(".class") && dirtyJar.getEntry(cleanEntry.getName()) == null) {
+                    snapshotWriter.addClass(BinpatchClassSelector.getClassName(cleanEntry), cleanJar.getInputStream(cleanEntry).readAllBytes());
+                }
+            }
+            for (ClassAnalyzer analyzer : analyzers) {
+                List<Patch> patches = new ArrayList<>();
+                Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders = new HashMap<>();
+                profiler.analyzeClass(analyzer.getName(), () -> analyzer.analyze(patches, info, replacementCalls, reorders, profiler));
+                patchWriter.write(patches);
+                lvtOffsetWriter.write(reorders);
+
+                counter.getAndIncrement();
+            }
 
-            List<PatchInstance> postPatches = new ArrayList<>();
+            int postPatchCount = 0;
             logger.info("");
             logger.info("===== Running post-analysis =====");
             for (ClassAnalyzer analyzer : analyzers) {
-                analyzer.postAnalyze(postPatches, replacementCalls);
+                List<PatchInstance> postPatches = new ArrayList<>();
+                profiler.phase("postAnalyze", () -> analyzer.postAnalyze(postPatches, replacementCalls));
+                patchWriter.write(postPatches);
+                postPatchCount += postPatches.size();
             }
-            logger.info("Adding additonal {} patches from post-analysis", postPatches.size());
-            patches.addAll(postPatches);
+            logger.info("Adding additonal {} patches from post-analysis", postPatchCount);
 
             stopwatch.stop();
             logger.info("Analyzed {} classes in {} ms", counter.get(), stopwatch.elapsed(TimeUnit.MILLISECONDS));
 
-            logger.info("Generated {} patches", patches.size());
+            logger.info("Generated {} patches", patchWriter.getCount());
+            logger.info("Wrote {} changed clean classes to snapshot", snapshotWriter.getCount());
 
             logger.info("\n{} fields had their type changed", info.get(ChangeCategory.MODIFY_FIELD).size());
             info.get(ChangeCategory.MODIFY_FIELD).forEach(logger::info);
@@ -126,15 +229,16 @@ public abstract class AdapterCompareJarTask extends DefaultTask {
             logger.info("\n{} fields were removed", info.get(ChangeCategory.REMOVE_FIELD).size());
             info.get(ChangeCategory.REMOVE_FIELD).forEach(logger::info);
         }
-
-        Gson gson = new GsonBuilder().disableHtmlEscaping().create();
-        JsonElement patchDataJson = PatchSerialization.serialize(patches, JsonOps.INSTANCE);
-        String patchDataJsonStr = gson.toJson(patchDataJson);
-        Files.writeString(getPatchDataOutput().get().getAsFile().toPath(), patchDataJsonStr, StandardCharsets.UTF_8);
-
-        LVTOffsets lvtOffsets = new LVTOffsets(reorders);
-        JsonElement offsetJson = lvtOffsets.toJson();
-        String offsetJsonStr = gson.toJson(offsetJson);
-        Files.writeString(getLVTOffsetDataOutput().get().getAsFile().toPath(), offsetJsonStr, StandardCharsets.UTF_8);
+        Files.move(patchDataTemp, getPatchDataOutput().get().getAsFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(lvtOffsetTemp, getLVTOffsetDataOutput().get().getAsFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(snapshotTemp, getCleanSnapshotOutput().get().getAsFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String fingerprintsJson = gson.toJson(new MethodFingerprints(changedMethods, addedClasses).toJson());
+        Files.writeString(getMethodFingerprintsOutput().get().getAsFile().toPath(), fingerprintsJson, StandardCharsets.UTF_8);
+        String profileJson = gson.toJson(profiler.toJson(PROFILE_SLOWEST_CLASSES));
+        Path profilePath = getProfileOutput().get().getAsFile().toPath();
+        Files.createDirectories(profilePath.getParent());
+        Files.writeString(profilePath, profileJson, StandardCharsets.UTF_8);
     }
 }
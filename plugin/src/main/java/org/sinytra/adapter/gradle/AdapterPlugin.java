@@ -9,12 +9,14 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.AppliedPlugin;
 import org.gradle.api.tasks.TaskProvider;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 
 public class AdapterPlugin implements Plugin<Project> {
     private static final String NEOGRADLE_ID = "net.neoforged.gradle";
     private static final String CLEAN_ARTIFACT = "net.minecraft:joined:%s:srg";
+    private static final String USERDEV_ARTIFACT = "net.minecraftforge:forge:%s:userdev";
 
     public static String getDefinitionVersion() {
         return Patch.class.getPackage().getImplementationVersion();
@@ -36,17 +38,31 @@ public class AdapterPlugin implements Plugin<Project> {
             task.getDirtyJar().fileProvider(project.provider(() -> getBinpatchedArtifact(project)));
             TaskProvider<GenerateSRG> createSrgToMcp = project.getTasks().named("createSrgToMcp", GenerateSRG.class);
             task.getSrgToMcpMappings().set(createSrgToMcp.flatMap(GenerateSRG::getOutput));
+            task.getBinpatches().fileProvider(project.provider(() -> getUserdevArtifact(project)));
         });
     }
 
     private static File getBinpatchedArtifact(Project project) {
-        String forgeVersion = project.getConfigurations().getByName("minecraft").getDependencies().iterator().next().getVersion();
-        String[] parts = forgeVersion.split("_mapped_");
-        String path = Artifact.from("net.minecraftforge", "forge", parts[0], "binpatched", "jar").getLocalPath();
+        String path = Artifact.from("net.minecraftforge", "forge", getForgeVersion(project), "binpatched", "jar").getLocalPath();
         File file = Utils.getCache(project, "minecraft_user_repo").toPath().resolve(path).toFile();
         if (!file.exists()) {
             throw new IllegalStateException("Missing binpatched artifact.");
         }
         return file;
     }
+
+    // The userdev jar is used as-is, binpatches are read from within it during analysis
+    @Nullable
+    private static File getUserdevArtifact(Project project) {
+        File userdev = MavenArtifactDownloader.manual(project, USERDEV_ARTIFACT.formatted(getForgeVersion(project)), false);
+        if (userdev == null) {
+            project.getLogger().warn("Missing userdev artifact, analyzing all classes");
+        }
+        return userdev;
+    }
+
+    private static String getForgeVersion(Project project) {
+        String forgeVersion = project.getConfigurations().getByName("minecraft").getDependencies().iterator().next().getVersion();
+        return forgeVersion.split("_mapped_")[0];
+    }
 }
@@ -3,17 +3,18 @@ package org.sinytra.adapter.gradle;
 import com.google.common.collect.*;
 import com.mojang.datafixers.util.Pair;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
-import net.minecraftforge.srgutils.IMappingFile;
-import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.Handle;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.*;
 import org.sinytra.adapter.gradle.analysis.AnalysisContext;
+import org.sinytra.adapter.gradle.analysis.CallSiteIndex;
+import org.sinytra.adapter.gradle.analysis.LambdaGraph;
 import org.sinytra.adapter.gradle.analysis.OverloadedMethods;
 import org.sinytra.adapter.gradle.analysis.ReplacedMethodCalls;
+import org.sinytra.adapter.gradle.util.AnalysisProfiler;
 import org.sinytra.adapter.gradle.util.MatchResult;
+import org.sinytra.adapter.gradle.util.MethodMappings;
 import org.sinytra.adapter.gradle.util.TraceCallback;
 import org.sinytra.adapter.patch.LVTOffsets;
 import org.sinytra.adapter.patch.PatchInstance;
@@ -43,15 +44,19 @@ public class ClassAnalyzer {
 
     private final ClassNode cleanNode;
     private final ClassNode dirtyNode;
-    private final IMappingFile mappings;
+    private final MethodMappings mappings;
     private final ClassLookup cleanClassProvider;
     private final ClassLookup dirtyClassProvider;
     private final InheritanceHandler inheritanceHandler;
+    private final CallSiteIndex callSiteIndex;
     private final TraceCallback trace;
 
     // All method of each respective class node
     private final Multimap<String, MethodNode> cleanMethods;
     private final Multimap<String, MethodNode> dirtyMethods;
+    // Lambdas referenced by each method of the respective class node
+    private final LambdaGraph cleanLambdaGraph;
+    private final LambdaGraph dirtyLambdaGraph;
     // Methods that exist exclusively in one class and not the other
     private final Multimap<String, MethodNode> cleanOnlyMethods = HashMultimap.create();
     private final Multimap<String, MethodNode> dirtyOnlyMethods = HashMultimap.create();
@@ -64,8 +69,8 @@ public class ClassAnalyzer {
     private final Map<String, FieldNode> cleanFields;
     private final Map<String, FieldNode> dirtyFields;
 
-    public static ClassAnalyzer create(byte[] cleanData, byte[] dirtyData, IMappingFile mappings, ClassLookup cleanClassProvider, ClassLookup dirtyClassProvider) {
-        return new ClassAnalyzer(readClassNode(cleanData), readClassNode(dirtyData), mappings, cleanClassProvider, dirtyClassProvider);
+    public static ClassAnalyzer create(byte[] cleanData, byte[] dirtyData, MethodMappings mappings, ClassLookup cleanClassProvider, ClassLookup dirtyClassProvider, CallSiteIndex callSiteIndex) {
+        return new ClassAnalyzer(readClassNode(cleanData), readClassNode(dirtyData), mappings, cleanClassProvider, dirtyClassProvider, callSiteIndex);
     }
 
     private static ClassNode readClassNode(byte[] data) {
@@ -75,7 +80,7 @@ public class ClassAnalyzer {
         return classNode;
     }
 
-    public ClassAnalyzer(ClassNode cleanNode, ClassNode dirtyNode, IMappingFile mappings, ClassLookup cleanClassProvider, ClassLookup dirtyClassProvider) {
+    public ClassAnalyzer(ClassNode cleanNode, ClassNode dirtyNode, MethodMappings mappings, ClassLookup cleanClassProvider, ClassLookup dirtyClassProvider, CallSiteIndex callSiteIndex) {
         this.cleanNode = cleanNode;
         this.dirtyNode = dirtyNode;
         this.mappings = mappings;
@@ -83,10 +88,14 @@ public class ClassAnalyzer {
         this.dirtyClassProvider = dirtyClassProvider;
         ClassLookup joinedClassProvider = name -> dirtyClassProvider.getClass(name).or(() -> cleanClassProvider.getClass(name));
         this.inheritanceHandler = new InheritanceHandler(joinedClassProvider);
+        this.callSiteIndex = callSiteIndex;
+        this.callSiteIndex.addClasses(cleanNode, dirtyNode);
         this.trace = new TraceCallback(LOGGER, this.cleanNode);
 
         this.cleanMethods = indexClassMethods(cleanNode);
         this.dirtyMethods = indexClassMethods(dirtyNode);
+        this.cleanLambdaGraph = new LambdaGraph(cleanNode, this.cleanMethods, mappings);
+        this.dirtyLambdaGraph = new LambdaGraph(dirtyNode, this.dirtyMethods, mappings);
         Collection<MethodNode> allClean = this.cleanMethods.values();
         Collection<MethodNode> allDirty = this.dirtyMethods.values();
         this.cleanMethods.forEach((name, method) -> {
@@ -129,20 +138,24 @@ public class ClassAnalyzer {
         this.originalCleanToDirty = ImmutableBiMap.copyOf(this.cleanToDirty);
     }
 
+    public String getName() {
+        return this.dirtyNode.name;
+    }
+
     public void analyze(List<? super Patch> patches, Multimap<ChangeCategory, String> info, Map<? super String, String> replacementCalls,
-                        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders
+                        Map<String, Map<MethodQualifier, List<LVTOffsets.Swap>>> reorders, AnalysisProfiler profiler
     ) {
-        AnalysisContext context = new AnalysisContext(patches, this.dirtyNode, this.mappings, this.cleanToDirty, this.trace);
+        AnalysisContext context = new AnalysisContext(patches, this.dirtyNode, this.mappings, this.cleanToDirty, this.callSiteIndex, this.trace);
         // Try to find added dirtyMethod patches
-        findOverloadedMethods(context, replacementCalls);
+        profiler.phase("findOverloadedMethods", () -> findOverloadedMethods(context, replacementCalls));
         if (!isAnonymousClass(this.cleanNode.name)) {
-            findExpandedMethods(patches, replacementCalls);
-            findExpandedLambdas(patches, replacementCalls);
+            profiler.phase("findExpandedMethods", () -> findExpandedMethods(patches, replacementCalls));
+            profiler.phase("findExpandedLambdas", () -> findExpandedLambdas(patches, replacementCalls));
         }
-        ReplacedMethodCalls.findReplacedMethodCalls(context, this.dirtyNode, this.cleanToDirty);
-        findUpdatedLambdaNames(patches);
-        checkAccess(patches);
-        calculateLVTOffsets(reorders);
+        profiler.phase("findReplacedMethodCalls", () -> ReplacedMethodCalls.findReplacedMethodCalls(context, this.dirtyNode, this.cleanToDirty));
+        profiler.phase("findUpdatedLambdaNames", () -> findUpdatedLambdaNames(patches));
+        profiler.phase("checkAccess", () -> checkAccess(patches));
+        profiler.phase("calculateLVTOffsets", () -> calculateLVTOffsets(reorders));
         this.trace.space();
 
         Collection<String> removedFields = new HashSet<>();
@@ -164,6 +177,10 @@ public class ClassAnalyzer {
     }
 
     public void postAnalyze(List<? super PatchInstance> patches, Map<? extends String, String> replacementCalls) {
+        // Skip classes that don't call any replaced methods
+        if (replacementCalls.keySet().stream().noneMatch(this::callsMethod)) {
+            return;
+        }
         this.trace.reset();
         updateReplacedInjectionPoints(patches, replacementCalls);
         this.trace.space();
@@ -189,15 +206,13 @@ public class ClassAnalyzer {
         this.cleanToDirty.forEach((clean, dirty) -> {
             String dirtyMappedName = remapMethodName(this.dirtyNode, dirty.name, dirty.desc);
             if (!dirtyMappedName.startsWith(LAMBDA_PREFIX)) {
-                List<String> cleanLambdas = findLambdasInMethod(this.cleanNode, clean, this.cleanMethods);
-                List<MethodNode> dirtyLambdas = findLambdasInMethod(this.dirtyNode, dirty, this.dirtyMethods).stream()
-                    .map(str -> findUniqueMethod(this.dirtyMethods, str))
-                    .toList();
+                List<String> cleanLambdas = this.cleanLambdaGraph.getNestedLambdas(clean);
+                List<MethodNode> dirtyLambdas = this.dirtyLambdaGraph.getNestedLambdaMethods(dirty);
 
                 Multimap<MethodNode, MethodNode> replacements = HashMultimap.create();
                 List<String> cleanQualifiers = cleanLambdas.stream()
                     .map(str -> {
-                        MethodNode method = findUniqueMethod(this.cleanMethods, str);
+                        MethodNode method = this.cleanLambdaGraph.getMethod(str);
                         return method.name + method.desc;
                     })
                     .toList();
@@ -230,7 +245,7 @@ public class ClassAnalyzer {
         List<MethodNode> replacements = new ArrayList<>();
         List<String> cleanDescs = new ArrayList<>();
         for (String cleanLambda : cleanLambdas) {
-            MethodNode cleanMethod = findUniqueMethod(this.cleanMethods, cleanLambda);
+            MethodNode cleanMethod = this.cleanLambdaGraph.getMethod(cleanLambda);
             cleanDescs.add(cleanMethod.desc);
             Type dirtyReturn = Type.getReturnType(dirtyLambda.desc);
             Type cleanReturn = Type.getReturnType(cleanMethod.desc);
@@ -252,48 +267,49 @@ public class ClassAnalyzer {
         return replacements;
     }
 
+    private boolean callsMethod(String qualifier) {
+        return this.callSiteIndex.getDirtyCallSites(qualifier).stream().anyMatch(site -> site.owner().equals(this.dirtyNode.name));
+    }
+
     private void updateReplacedInjectionPoints(List<? super PatchInstance> patches, Map<? extends String, String> replacementCalls) {
         Collection<String> seen = new HashSet<>();
         this.cleanToDirty.forEach((cleanMethod, dirtyMethod) -> {
-            for (AbstractInsnNode insn : dirtyMethod.instructions) {
-                if (insn instanceof MethodInsnNode minsn) {
-                    String callQualifier = MethodCallAnalyzer.getCallQualifier(minsn);
-                    String oldQualifier = replacementCalls.get(callQualifier);
-                    if (oldQualifier != null && !seen.contains(oldQualifier)) {
-                        // Check if it was called in the original method insns
-                        for (AbstractInsnNode cInsn : cleanMethod.instructions) {
-                            if (cInsn instanceof MethodInsnNode cminsn && oldQualifier.equals(MethodCallAnalyzer.getCallQualifier(cminsn))) {
-                                this.trace.logHeader();
-                                LOGGER.info("Replacing call in method {}", dirtyMethod.name + dirtyMethod.desc);
-                                LOGGER.info(" << {}", oldQualifier);
-                                LOGGER.info(" >> {}", callQualifier);
-
-                                MethodNode cleanTargetMethod = this.cleanClassProvider.findMethod(cminsn.owner, cminsn.name, cminsn.desc).orElseThrow();
-                                MethodNode dirtyTargetMethod = this.dirtyClassProvider.findMethod(minsn.owner, minsn.name, minsn.desc).orElseThrow();
-                                LayeredParamsDiffSnapshot snapshot = EnhancedParamsDiff.compareMethodParameters(cleanTargetMethod, dirtyTargetMethod);
-
-                                PatchInstance patch = Patch.builder()
-                                    .targetClass(this.dirtyNode.name)
-                                    .targetMethod(dirtyMethod.name + dirtyMethod.desc)
-                                    .targetInjectionPoint(oldQualifier)
-                                    // Avoid automatic method upgrades when a parameter transformation is being applied
-                                    .modifyInjectionPoint(null, callQualifier, false, true)
-                                    .transform(snapshot.asParameterTransformer(ParamTransformTarget.INJECTION_POINT, true))
-                                    .build();
-                                patches.add(patch);
-                                seen.add(oldQualifier);
-                                break;
-                            }
-                        }
-                    }
+            CallSiteIndex.MethodCalls cleanCalls = this.callSiteIndex.getMethodCalls(cleanMethod);
+            CallSiteIndex.MethodCalls dirtyCalls = this.callSiteIndex.getMethodCalls(dirtyMethod);
+            for (String callQualifier : dirtyCalls.calls().keySet()) {
+                String oldQualifier = replacementCalls.get(callQualifier);
+                // Check if it was called in the original method insns
+                if (oldQualifier != null && !seen.contains(oldQualifier) && cleanCalls.contains(oldQualifier)) {
+                    MethodInsnNode minsn = dirtyCalls.getFirstCall(callQualifier);
+                    MethodInsnNode cminsn = cleanCalls.getFirstCall(oldQualifier);
+                    this.trace.logHeader();
+                    LOGGER.info("Replacing call in method {}", dirtyMethod.name + dirtyMethod.desc);
+                    LOGGER.info(" << {}", oldQualifier);
+                    LOGGER.info(" >> {}", callQualifier);
+
+                    MethodNode cleanTargetMethod = this.cleanClassProvider.findMethod(cminsn.owner, cminsn.name, cminsn.desc).orElseThrow();
+                    MethodNode dirtyTargetMethod = this.dirtyClassProvider.findMethod(minsn.owner, minsn.name, minsn.desc).orElseThrow();
+                    LayeredParamsDiffSnapshot snapshot = EnhancedParamsDiff.compareMethodParameters(cleanTargetMethod, dirtyTargetMethod);
+
+                    PatchInstance patch = Patch.builder()
+                        .targetClass(this.dirtyNode.name)
+                        .targetMethod(dirtyMethod.name + dirtyMethod.desc)
+                        .targetInjectionPoint(oldQualifier)
+                        // Avoid automatic method upgrades when a parameter transformation is being applied
+                        .modifyInjectionPoint(null, callQualifier, false, true)
+                        .transform(snapshot.asParameterTransformer(ParamTransformTarget.INJECTION_POINT, true))
+                        .build();
+                    patches.add(patch);
+                    seen.add(oldQualifier);
                 }
             }
         });
     }
 
     private void findOverloadedMethods(AnalysisContext context, Map<? super String, String> replacementCalls) {
+        OverloadedMethods.Candidates candidates = new OverloadedMethods.Candidates(this.dirtyCommonMethods.values());
         this.dirtyOnlyMethods.values().forEach(method -> {
-            OverloadedMethods.MethodOverload overloader = OverloadedMethods.findOverloadMethod(context, this.dirtyNode.name, method, this.dirtyCommonMethods.values());
+            OverloadedMethods.MethodOverload overloader = OverloadedMethods.findOverloadMethod(context, this.dirtyNode.name, method, candidates);
             if (overloader != null) {
                 MethodNode overloaderMethod = overloader.methodNode();
                 ParametersDiff diff = ParametersDiff.compareMethodParameters(overloaderMethod, method);
@@ -378,8 +394,8 @@ public class ClassAnalyzer {
     private void findExpandedLambdas(List<? super Patch> patches, Map<? super String, String> replacementCalls) {
         this.cleanToDirty.forEach((cleanMethod, dirtyMethod) -> {
             // Find lambdas sorted by their call order. This increases our precision when looking for replaced lambdas that had their suffix number changed.
-            List<String> cleanLambdas = findLambdasInMethod(this.cleanNode, cleanMethod, null);
-            List<String> dirtyLambdas = findLambdasInMethod(this.dirtyNode, dirtyMethod, null);
+            List<String> cleanLambdas = this.cleanLambdaGraph.getLambdas(cleanMethod);
+            List<String> dirtyLambdas = this.dirtyLambdaGraph.getLambdas(dirtyMethod);
             if (cleanLambdas.isEmpty() && !dirtyLambdas.isEmpty()) {
                 findMovedInsnsToLambdas(patches, cleanMethod, dirtyMethod, dirtyLambdas);
                 return;
@@ -402,8 +418,8 @@ public class ClassAnalyzer {
 
                         // Lambda (likely) modified by Forge, proceed
                         if (noDirty) {
-                            MethodNode cleanLambdaMethod = findUniqueMethod(this.cleanMethods, cleanLambda);
-                            MethodNode dirtyLambdaMethod = findUniqueMethod(this.dirtyMethods, dirtyLambda);
+                            MethodNode cleanLambdaMethod = this.cleanLambdaGraph.getMethod(cleanLambda);
+                            MethodNode dirtyLambdaMethod = this.dirtyLambdaGraph.getMethod(dirtyLambda);
                             tryFindExpandedMethod(patches, replacementCalls, cleanLambdaMethod, dirtyLambdaMethod);
                         }
                     } else {
@@ -422,7 +438,7 @@ public class ClassAnalyzer {
             for (AbstractInsnNode insn : lambdaMethod.instructions) {
                 if (insn instanceof MethodInsnNode minsn) {
                     String qualifier = MethodCallAnalyzer.getCallQualifier(minsn);
-                    if (containsMethodCall(cleanMethod, minsn) && !containsMethodCall(dirtyMethod, minsn)) {
+                    if (this.callSiteIndex.containsMethodCall(cleanMethod, minsn) && !this.callSiteIndex.containsMethodCall(dirtyMethod, minsn)) {
                         redirectInjectionPoints.add(qualifier);
                     }
                 }
@@ -530,54 +546,8 @@ public class ClassAnalyzer {
         return snapshot;
     }
 
-    private List<String> findLambdasInMethod(ClassNode cls, MethodNode method, @Nullable Multimap<String, MethodNode> methods) {
-        List<String> list = new ArrayList<>();
-        for (AbstractInsnNode insn : method.instructions) {
-            if (insn instanceof InvokeDynamicInsnNode indy && indy.bsmArgs.length >= 3) {
-                for (Object bsmArg : indy.bsmArgs) {
-                    if (bsmArg instanceof Handle handle && handle.getOwner().equals(cls.name)) {
-                        String lambdaName = remapMethodName(cls, handle.getName(), handle.getDesc());
-                        if (lambdaName.startsWith(LAMBDA_PREFIX)) {
-                            String name = handle.getName();
-                            list.add(name);
-                            if (methods != null) {
-                                MethodNode lambda = findUniqueMethod(methods, name);
-                                list.addAll(findLambdasInMethod(cls, lambda, methods));
-                            }
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-        return list;
-    }
-
     private String remapMethodName(ClassNode cls, String name, String desc) {
-        return Optional.ofNullable(this.mappings.getClass(cls.name))
-            .map(c -> c.getMethod(name, desc))
-            .map(IMappingFile.INode::getMapped)
-            .orElse(name);
-    }
-
-    public static boolean containsMethodCall(MethodNode methodNode, MethodInsnNode targetMinsn) {
-        for (AbstractInsnNode insn : methodNode.instructions) {
-            if (insn instanceof MethodInsnNode minsn && minsn.owner.equals(targetMinsn.owner) && minsn.name.equals(targetMinsn.name) && minsn.desc.equals(targetMinsn.desc)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static MethodNode findUniqueMethod(Multimap<String, MethodNode> methods, String name) {
-        Collection<MethodNode> values = methods.get(name);
-        if (values != null && !values.isEmpty()) {
-            if (values.size() > 1) {
-                throw new IllegalStateException("Found multiple candidates for method " + name);
-            }
-            return values.iterator().next();
-        }
-        throw new NullPointerException("Method " + name + " not found");
+        return this.mappings.remapMethod(cls.name, name, desc);
     }
 
     private static Multimap<String, MethodNode> indexClassMethods(ClassNode classNode) {
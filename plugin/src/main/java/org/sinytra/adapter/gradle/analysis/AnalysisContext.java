@@ -1,27 +1,28 @@
 package org.sinytra.adapter.gradle.analysis;
 
 import com.google.common.collect.BiMap;
+import org.sinytra.adapter.gradle.util.MethodMappings;
 import org.sinytra.adapter.gradle.util.TraceCallback;
 import org.sinytra.adapter.patch.api.Patch;
-import net.minecraftforge.srgutils.IMappingFile;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 
 import java.util.List;
-import java.util.Optional;
 
 public class AnalysisContext {
     private final List<? super Patch> patches;
     private final ClassNode dirtyNode;
-    private final IMappingFile mappings;
+    private final MethodMappings mappings;
     private final BiMap<MethodNode, MethodNode> cleanToDirty;
+    private final CallSiteIndex callSiteIndex;
     private final TraceCallback trace;
 
-    public AnalysisContext(List<? super Patch> patches, ClassNode dirtyNode, IMappingFile mappings, BiMap<MethodNode, MethodNode> cleanToDirty, TraceCallback trace) {
+    public AnalysisContext(List<? super Patch> patches, ClassNode dirtyNode, MethodMappings mappings, BiMap<MethodNode, MethodNode> cleanToDirty, CallSiteIndex callSiteIndex, TraceCallback trace) {
         this.patches = patches;
         this.dirtyNode = dirtyNode;
         this.mappings = mappings;
         this.cleanToDirty = cleanToDirty;
+        this.callSiteIndex = callSiteIndex;
         this.trace = trace;
     }
 
@@ -29,6 +30,10 @@ public class AnalysisContext {
         return this.dirtyNode;
     }
 
+    public CallSiteIndex getCallSiteIndex() {
+        return this.callSiteIndex;
+    }
+
     public TraceCallback getTrace() {
         return this.trace;
     }
@@ -38,10 +43,7 @@ public class AnalysisContext {
     }
 
     public String remapMethod(String owner, String name, String desc) {
-        return Optional.ofNullable(this.mappings.getClass(owner))
-            .map(c -> c.getMethod(name, desc))
-            .map(IMappingFile.INode::getMapped)
-            .orElse(name);
+        return this.mappings.remapMethod(owner, name, desc);
     }
 
     public MethodNode getCleanMethod(MethodNode dirty) {
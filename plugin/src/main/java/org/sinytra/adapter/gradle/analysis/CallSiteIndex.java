@@ -0,0 +1,97 @@
+package org.sinytra.adapter.gradle.analysis;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.patch.analysis.InstructionMatcher;
+import org.sinytra.adapter.patch.analysis.MethodCallAnalyzer;
+
+import java.util.*;
+
+/**
+ * Jar-wide index of method call sites, built once for all analyzed classes of both the clean and dirty jar.
+ */
+public class CallSiteIndex {
+    // Instruction range used when fingerprinting surrounding instructions of a call site
+    public static final int INSN_RANGE = 5;
+
+    private final Map<MethodNode, MethodCalls> methodCalls = new HashMap<>();
+    private final Multimap<String, CallSite> cleanCallSites = HashMultimap.create();
+    private final Multimap<String, CallSite> dirtyCallSites = HashMultimap.create();
+
+    public void addClasses(ClassNode cleanNode, ClassNode dirtyNode) {
+        addClass(cleanNode, this.cleanCallSites);
+        addClass(dirtyNode, this.dirtyCallSites);
+    }
+
+    private void addClass(ClassNode classNode, Multimap<String, CallSite> callSites) {
+        for (MethodNode method : classNode.methods) {
+            MethodCalls calls = MethodCalls.create(method);
+            this.methodCalls.put(method, calls);
+            calls.calls().forEach((qualifier, insn) -> callSites.put(qualifier, new CallSite(classNode.name, method, insn)));
+        }
+    }
+
+    public MethodCalls getMethodCalls(MethodNode method) {
+        // Methods outside the analyzed classes are indexed lazily
+        return this.methodCalls.computeIfAbsent(method, MethodCalls::create);
+    }
+
+    public boolean containsMethodCall(MethodNode method, MethodInsnNode insn) {
+        return getMethodCalls(method).contains(MethodCallAnalyzer.getCallQualifier(insn));
+    }
+
+    public Collection<CallSite> getCleanCallSites(String qualifier) {
+        return this.cleanCallSites.get(qualifier);
+    }
+
+    public Collection<CallSite> getDirtyCallSites(String qualifier) {
+        return this.dirtyCallSites.get(qualifier);
+    }
+
+    public record CallSite(String owner, MethodNode method, MethodInsnNode insn) {}
+
+    public static final class MethodCalls {
+        // Call qualifiers in instruction order
+        private final List<String> callOrder;
+        // Keys are ordered by their first occurrence
+        private final Multimap<String, MethodInsnNode> calls;
+        private final Map<MethodInsnNode, InstructionMatcher> fingerprints = new HashMap<>();
+
+        private MethodCalls(List<String> callOrder, Multimap<String, MethodInsnNode> calls) {
+            this.callOrder = callOrder;
+            this.calls = calls;
+        }
+
+        private static MethodCalls create(MethodNode method) {
+            List<String> callOrder = new ArrayList<>();
+            Multimap<String, MethodInsnNode> calls = MethodCallAnalyzer.getMethodCalls(method, callOrder);
+            return new MethodCalls(List.copyOf(callOrder), calls);
+        }
+
+        public List<String> callOrder() {
+            return this.callOrder;
+        }
+
+        public Multimap<String, MethodInsnNode> calls() {
+            return this.calls;
+        }
+
+        public boolean contains(String qualifier) {
+            return this.calls.containsKey(qualifier);
+        }
+
+        @Nullable
+        public MethodInsnNode getFirstCall(String qualifier) {
+            Collection<MethodInsnNode> insns = this.calls.get(qualifier);
+            return insns.isEmpty() ? null : insns.iterator().next();
+        }
+
+        public InstructionMatcher getFingerprint(MethodInsnNode insn) {
+            return this.fingerprints.computeIfAbsent(insn, i -> MethodCallAnalyzer.findSurroundingInstructions(i, INSN_RANGE));
+        }
+    }
+}
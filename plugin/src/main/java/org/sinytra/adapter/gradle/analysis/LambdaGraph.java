@@ -0,0 +1,94 @@
+package org.sinytra.adapter.gradle.analysis;
+
+import com.google.common.collect.Multimap;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.sinytra.adapter.gradle.util.MethodMappings;
+
+import java.util.*;
+
+import static org.sinytra.adapter.gradle.ClassAnalyzer.LAMBDA_PREFIX;
+
+/**
+ * Lambdas referenced by each method of a class, in invocation order. Built in a single pass over the class' instructions.
+ */
+public class LambdaGraph {
+    private final Multimap<String, MethodNode> methods;
+    private final Map<MethodNode, List<String>> lambdas = new HashMap<>();
+    private final Map<MethodNode, List<String>> nestedLambdas = new HashMap<>();
+    private final Map<String, MethodNode> resolvedMethods = new HashMap<>();
+
+    public LambdaGraph(ClassNode cls, Multimap<String, MethodNode> methods, MethodMappings mappings) {
+        this.methods = methods;
+        for (MethodNode method : cls.methods) {
+            this.lambdas.put(method, findLambdasInMethod(cls, method, mappings));
+        }
+    }
+
+    // Lambdas invoked directly in a method
+    public List<String> getLambdas(MethodNode method) {
+        return this.lambdas.getOrDefault(method, List.of());
+    }
+
+    // Lambdas invoked in a method, each followed by lambdas nested inside it
+    public List<String> getNestedLambdas(MethodNode method) {
+        List<String> list = this.nestedLambdas.get(method);
+        if (list == null) {
+            List<String> nested = new ArrayList<>();
+            for (String name : getLambdas(method)) {
+                nested.add(name);
+                nested.addAll(getNestedLambdas(getMethod(name)));
+            }
+            list = List.copyOf(nested);
+            this.nestedLambdas.put(method, list);
+        }
+        return list;
+    }
+
+    public List<MethodNode> getNestedLambdaMethods(MethodNode method) {
+        return getNestedLambdas(method).stream()
+            .map(this::getMethod)
+            .toList();
+    }
+
+    public MethodNode getMethod(String name) {
+        MethodNode method = this.resolvedMethods.get(name);
+        if (method == null) {
+            method = resolveMethod(name);
+            this.resolvedMethods.put(name, method);
+        }
+        return method;
+    }
+
+    private MethodNode resolveMethod(String name) {
+        Collection<MethodNode> values = this.methods.get(name);
+        if (values != null && !values.isEmpty()) {
+            if (values.size() > 1) {
+                throw new IllegalStateException("Found multiple candidates for method " + name);
+            }
+            return values.iterator().next();
+        }
+        throw new NullPointerException("Method " + name + " not found");
+    }
+
+    private static List<String> findLambdasInMethod(ClassNode cls, MethodNode method, MethodMappings mappings) {
+        List<String> list = new ArrayList<>();
+        for (AbstractInsnNode insn : method.instructions) {
+            if (insn instanceof InvokeDynamicInsnNode indy && indy.bsmArgs.length >= 3) {
+                for (Object bsmArg : indy.bsmArgs) {
+                    if (bsmArg instanceof Handle handle && handle.getOwner().equals(cls.name)) {
+                        String lambdaName = mappings.remapMethod(cls.name, handle.getName(), handle.getDesc());
+                        if (lambdaName.startsWith(LAMBDA_PREFIX)) {
+                            list.add(handle.getName());
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return list.isEmpty() ? List.of() : List.copyOf(list);
+    }
+}
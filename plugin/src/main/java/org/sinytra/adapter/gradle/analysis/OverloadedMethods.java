@@ -14,17 +14,25 @@ import org.objectweb.asm.tree.*;
 import java.util.*;
 
 import static org.sinytra.adapter.gradle.ClassAnalyzer.LAMBDA_PREFIX;
-import static org.sinytra.adapter.gradle.ClassAnalyzer.containsMethodCall;
 
 public class OverloadedMethods {
     private static final Collection<Integer> RETURN_OPCODES = Set.of(Opcodes.RETURN, Opcodes.ARETURN, Opcodes.DRETURN, Opcodes.IRETURN, Opcodes.LRETURN, Opcodes.FRETURN);
 
     @Nullable
-    public static MethodOverload findOverloadMethod(AnalysisContext context, String owner, MethodNode method, Collection<MethodNode> others) {
+    public static MethodOverload findOverloadMethod(AnalysisContext context, String owner, MethodNode method, Candidates candidates) {
         List<Pair<MethodNode, List<String>>> found = new ArrayList<>();
         List<MethodNode> lowPriority = new ArrayList<>();
-        for (MethodNode other : others) {
-            MatchResult matchResult = checkParameters(other, method);
+        Type[] parameterTypes = Type.getArgumentTypes(method.desc);
+        String qualifier = Type.getObjectType(owner).getDescriptor() + method.name + method.desc;
+        Set<MethodNode> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Overloaders always delegate to the overloaded method, so only look at its callers
+        for (CallSiteIndex.CallSite callSite : context.getCallSiteIndex().getDirtyCallSites(qualifier)) {
+            MethodNode other = callSite.method();
+            Type[] otherParameterTypes = candidates.getParameterTypes(other);
+            if (otherParameterTypes == null || !callSite.owner().equals(owner) || !seen.add(other)) {
+                continue;
+            }
+            MatchResult matchResult = checkParameters(otherParameterTypes, parameterTypes);
             if (matchResult != MatchResult.FULL) {
                 if (matchResult == MatchResult.PARTIAL) {
                     lowPriority.add(other);
@@ -105,9 +113,10 @@ public class OverloadedMethods {
             if (returnSeen) {
                 List<String> exludedInjectionPoints = new ArrayList<>();
                 if (insns.size() > 1) {
+                    CallSiteIndex index = context.getCallSiteIndex();
                     for (int i = 0; i < insns.size() - 1; i++) {
                         MethodInsnNode callInsn = insns.get(i).getSecond();
-                        if (containsMethodCall(context.getCleanMethod(other), callInsn) && !containsMethodCall(method, callInsn)) {
+                        if (index.containsMethodCall(context.getCleanMethod(other), callInsn) && !index.containsMethodCall(method, callInsn)) {
                             exludedInjectionPoints.add(MethodCallAnalyzer.getCallQualifier(callInsn));
                         }
                     }
@@ -139,6 +148,22 @@ public class OverloadedMethods {
         return result;
     }
 
+    public static class Candidates {
+        // Parsed parameter types of each candidate method
+        private final Map<MethodNode, Type[]> parameterTypes = new IdentityHashMap<>();
+
+        public Candidates(Collection<MethodNode> methods) {
+            for (MethodNode method : methods) {
+                this.parameterTypes.put(method, Type.getArgumentTypes(method.desc));
+            }
+        }
+
+        @Nullable
+        public Type[] getParameterTypes(MethodNode method) {
+            return this.parameterTypes.get(method);
+        }
+    }
+
     public record MethodOverload(boolean isFullMatch, MethodNode methodNode, List<String> excludedInjectionPoints) {
         public MethodTransform getPatchTargetTransform(MethodNode method) {
             return this.excludedInjectionPoints.isEmpty()
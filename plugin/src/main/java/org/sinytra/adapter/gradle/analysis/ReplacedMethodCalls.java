@@ -1,6 +1,5 @@
 package org.sinytra.adapter.gradle.analysis;
 
-import com.google.common.collect.Multimap;
 import org.sinytra.adapter.gradle.util.MatchResult;
 import org.sinytra.adapter.patch.api.MixinConstants;
 import org.sinytra.adapter.patch.api.Patch;
@@ -25,16 +24,16 @@ public class ReplacedMethodCalls {
     private static final String[] NEAREST_REPLACEMENT_TARGET_TYPES_EXTRA = ArrayUtils.add(NEAREST_REPLACEMENT_TARGET_TYPES, MixinConstants.MODIFY_EXPR_VAL);
 
     public static void findReplacedMethodCalls(AnalysisContext context, ClassNode dirtyNode, Map<MethodNode, MethodNode> cleanToDirty) {
+        CallSiteIndex index = context.getCallSiteIndex();
         cleanToDirty.forEach((cleanMethod, dirtyMethod) -> {
             int callAnalysisLimit = 2;
-            int insnRange = 5;
-            List<String> cleanCallOrder = new ArrayList<>();
-            List<String> dirtyCallOrder = new ArrayList<>();
-            Multimap<String, MethodInsnNode> cleanCalls = MethodCallAnalyzer.getMethodCalls(cleanMethod, cleanCallOrder);
-            Multimap<String, MethodInsnNode> dirtyCalls = MethodCallAnalyzer.getMethodCalls(dirtyMethod, dirtyCallOrder);
+            CallSiteIndex.MethodCalls cleanCalls = index.getMethodCalls(cleanMethod);
+            CallSiteIndex.MethodCalls dirtyCalls = index.getMethodCalls(dirtyMethod);
+            List<String> cleanCallOrder = cleanCalls.callOrder();
+            List<String> dirtyCallOrder = dirtyCalls.callOrder();
 
-            dirtyCalls.asMap().forEach((qualifier, dirtyList) -> {
-                Collection<MethodInsnNode> cleanList = cleanCalls.get(qualifier);
+            dirtyCalls.calls().asMap().forEach((qualifier, dirtyList) -> {
+                Collection<MethodInsnNode> cleanList = cleanCalls.calls().get(qualifier);
                 if (cleanList.isEmpty() && dirtyList.size() == 1) {
                     // Try finding overloaded method call
                     if (!findOverloadedReplacement(context, dirtyMethod, qualifier, cleanCallOrder, dirtyCallOrder)) {
@@ -42,8 +41,8 @@ public class ReplacedMethodCalls {
                         findNearestMethodCall(context, dirtyNode, dirtyMethod, qualifier, cleanCallOrder, dirtyCallOrder);
                     }
                 } else if (cleanList.size() != dirtyList.size() && cleanList.size() <= callAnalysisLimit) {
-                    List<InstructionMatcher> cleanMatchers = cleanList.stream().map(i -> MethodCallAnalyzer.findSurroundingInstructions(i, insnRange)).toList();
-                    List<InstructionMatcher> dirtyMatchers = dirtyList.stream().map(i -> MethodCallAnalyzer.findSurroundingInstructions(i, insnRange)).toList();
+                    List<InstructionMatcher> cleanMatchers = cleanList.stream().map(cleanCalls::getFingerprint).toList();
+                    List<InstructionMatcher> dirtyMatchers = dirtyList.stream().map(dirtyCalls::getFingerprint).toList();
 
                     List<InstructionMatcher> missing = identifyMissingCalls(cleanMatchers, dirtyMatchers);
 
@@ -0,0 +1,86 @@
+package org.sinytra.adapter.gradle.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Collects time and allocation statistics of analysis phases and individual classes.
+ * Allocations are measured on the current thread and reported as {@code -1} when unsupported by the JVM.
+ */
+public class AnalysisProfiler {
+    private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+    private final Map<String, Long> classTimes = new HashMap<>();
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    public AnalysisProfiler() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        this.threadBean = bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled() ? sunBean : null;
+    }
+
+    public void phase(String name, Runnable action) {
+        long startAlloc = getAllocatedBytes();
+        long start = System.nanoTime();
+        action.run();
+        long time = System.nanoTime() - start;
+        long allocated = startAlloc >= 0 ? getAllocatedBytes() - startAlloc : -1;
+        this.phases.computeIfAbsent(name, s -> new PhaseStats()).add(time, allocated);
+    }
+
+    public void analyzeClass(String name, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        this.classTimes.merge(name, System.nanoTime() - start, Long::sum);
+    }
+
+    public JsonObject toJson(int slowestClassCount) {
+        JsonObject json = new JsonObject();
+        json.addProperty("analyzedClasses", this.classTimes.size());
+
+        JsonObject phasesJson = new JsonObject();
+        this.phases.forEach((name, stats) -> {
+            JsonObject phaseJson = new JsonObject();
+            phaseJson.addProperty("invocations", stats.invocations);
+            phaseJson.addProperty("timeMillis", toMillis(stats.time));
+            phaseJson.addProperty("allocatedBytes", stats.allocated);
+            phasesJson.add(name, phaseJson);
+        });
+        json.add("phases", phasesJson);
+
+        JsonArray classesJson = new JsonArray();
+        this.classTimes.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(slowestClassCount)
+            .forEach(entry -> {
+                JsonObject classJson = new JsonObject();
+                classJson.addProperty("name", entry.getKey());
+                classJson.addProperty("timeMillis", toMillis(entry.getValue()));
+                classesJson.add(classJson);
+            });
+        json.add("slowestClasses", classesJson);
+        return json;
+    }
+
+    private long getAllocatedBytes() {
+        return this.threadBean != null ? this.threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class PhaseStats {
+        private int invocations;
+        private long time;
+        private long allocated;
+
+        public void add(long time, long allocated) {
+            this.invocations++;
+            this.time += time;
+            this.allocated = this.allocated < 0 || allocated < 0 ? -1 : this.allocated + allocated;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.sinytra.adapter.gradle.util;
+
+import lzma.sdk.lzma.Decoder;
+import lzma.streams.LzmaInputStream;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Selects classes for analysis based on the contents of a Forge binpatch archive.
+ * The selection includes all binpatched classes and any classes inheriting from them.
+ */
+public final class BinpatchClassSelector {
+    private static final String BINPATCH_SUFFIX = ".binpatch";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String USERDEV_BINPATCHES = "joined.lzma";
+
+    /**
+     * Reads binpatched class names from a binpatch archive, either directly or from within a userdev jar.
+     */
+    public static Set<String> readPatchedClasses(Path binpatches) throws IOException {
+        String fileName = binpatches.getFileName().toString();
+        if (fileName.endsWith(".jar")) {
+            try (ZipFile userdev = new ZipFile(binpatches.toFile())) {
+                ZipEntry entry = userdev.getEntry(USERDEV_BINPATCHES);
+                if (entry == null) {
+                    throw new IOException("Missing binpatches in userdev artifact " + binpatches);
+                }
+                try (InputStream is = userdev.getInputStream(entry)) {
+                    return readPatchedClasses(new LzmaInputStream(is, new Decoder()));
+                }
+            }
+        }
+        try (InputStream is = Files.newInputStream(binpatches)) {
+            return readPatchedClasses(fileName.endsWith(".lzma") ? new LzmaInputStream(is, new Decoder()) : is);
+        }
+    }
+
+    private static Set<String> readPatchedClasses(InputStream is) throws IOException {
+        Set<String> classes = new HashSet<>();
+        try (ZipInputStream zis = new ZipInputStream(is)) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (name.endsWith(BINPATCH_SUFFIX)) {
+                    classes.add(name.substring(0, name.length() - BINPATCH_SUFFIX.length()));
+                }
+            }
+        }
+        return classes;
+    }
+
+    public static Set<String> selectClasses(ZipFile jar, Set<String> patchedClasses) throws IOException {
+        // Only read class headers to find each class' direct supertypes
+        Map<String, List<String>> supertypes = new HashMap<>();
+        Enumeration<? extends ZipEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.getName().endsWith(CLASS_SUFFIX)) {
+                try (InputStream is = jar.getInputStream(entry)) {
+                    ClassReader reader = new ClassReader(is);
+                    List<String> parents = new ArrayList<>(List.of(reader.getInterfaces()));
+                    if (reader.getSuperName() != null) {
+                        parents.add(reader.getSuperName());
+                    }
+                    supertypes.put(reader.getClassName(), parents);
+                }
+            }
+        }
+
+        Map<String, Boolean> dependents = new HashMap<>();
+        Set<String> selected = new HashSet<>(patchedClasses);
+        for (String cls : supertypes.keySet()) {
+            if (dependsOnPatchedClass(cls, patchedClasses, supertypes, dependents)) {
+                selected.add(cls);
+            }
+        }
+        return selected;
+    }
+
+    public static String getClassName(ZipEntry entry) {
+        String name = entry.getName();
+        return name.endsWith(CLASS_SUFFIX) ? name.substring(0, name.length() - CLASS_SUFFIX.length()) : name;
+    }
+
+    private static boolean dependsOnPatchedClass(String cls, Set<String> patchedClasses, Map<String, List<String>> supertypes, Map<String, Boolean> cache) {
+        Boolean cached = cache.get(cls);
+        if (cached != null) {
+            return cached;
+        }
+        boolean result = false;
+        for (String parent : supertypes.getOrDefault(cls, List.of())) {
+            if (patchedClasses.contains(parent) || dependsOnPatchedClass(parent, patchedClasses, supertypes, cache)) {
+                result = true;
+                break;
+            }
+        }
+        cache.put(cls, result);
+        return result;
+    }
+
+    private BinpatchClassSelector() {}
+}
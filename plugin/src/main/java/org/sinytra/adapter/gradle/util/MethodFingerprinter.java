@@ -0,0 +1,58 @@
+package org.sinytra.adapter.gradle.util;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceMethodVisitor;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public final class MethodFingerprinter {
+
+    // Finds methods whose bodies differ, including methods only present on one side
+    public static Set<String> findChangedMethods(byte[] cleanData, byte[] dirtyData) {
+        Map<String, String> cleanBodies = new HashMap<>();
+        for (MethodNode method : readClass(cleanData).methods) {
+            cleanBodies.put(method.name + method.desc, fingerprint(method));
+        }
+        Set<String> changed = new HashSet<>();
+        for (MethodNode method : readClass(dirtyData).methods) {
+            String key = method.name + method.desc;
+            String cleanBody = cleanBodies.remove(key);
+            if (cleanBody == null || !cleanBody.equals(fingerprint(method))) {
+                changed.add(key);
+            }
+        }
+        changed.addAll(cleanBodies.keySet());
+        return changed;
+    }
+
+    private static String fingerprint(MethodNode method) {
+        Textifier text = new Textifier();
+        // Line numbers shift whenever code above the method is patched
+        method.accept(new MethodVisitor(Opcodes.ASM9, new TraceMethodVisitor(text)) {
+            @Override
+            public void visitLineNumber(int line, Label start) {}
+        });
+        StringWriter writer = new StringWriter();
+        text.print(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static ClassNode readClass(byte[] data) {
+        ClassNode node = new ClassNode();
+        new ClassReader(data).accept(node, 0);
+        return node;
+    }
+
+    private MethodFingerprinter() {}
+}
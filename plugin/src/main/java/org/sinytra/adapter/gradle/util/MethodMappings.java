@@ -0,0 +1,48 @@
+package org.sinytra.adapter.gradle.util;
+
+import net.minecraftforge.srgutils.IMappingFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable method name lookup table, built once from a mapping file and safe to share between analyzers.
+ * Only methods whose name changes are stored.
+ */
+public final class MethodMappings {
+    // Owner -> name -> descriptor -> mapped name
+    private final Map<String, Map<String, Map<String, String>>> methods;
+
+    private MethodMappings(Map<String, Map<String, Map<String, String>>> methods) {
+        this.methods = methods;
+    }
+
+    public static MethodMappings create(IMappingFile mappings) {
+        Map<String, Map<String, Map<String, String>>> methods = new HashMap<>();
+        for (IMappingFile.IClass cls : mappings.getClasses()) {
+            Map<String, Map<String, String>> classMethods = new HashMap<>();
+            for (IMappingFile.IMethod method : cls.getMethods()) {
+                if (!method.getOriginal().equals(method.getMapped())) {
+                    classMethods.computeIfAbsent(method.getOriginal(), s -> new HashMap<>()).put(method.getDescriptor(), method.getMapped());
+                }
+            }
+            if (!classMethods.isEmpty()) {
+                Map<String, Map<String, String>> immutableMethods = new HashMap<>();
+                classMethods.forEach((name, descs) -> immutableMethods.put(name, Map.copyOf(descs)));
+                methods.put(cls.getOriginal(), Map.copyOf(immutableMethods));
+            }
+        }
+        return new MethodMappings(Map.copyOf(methods));
+    }
+
+    public String remapMethod(String owner, String name, String desc) {
+        Map<String, Map<String, String>> classMethods = this.methods.get(owner);
+        if (classMethods != null) {
+            Map<String, String> descs = classMethods.get(name);
+            if (descs != null) {
+                return descs.getOrDefault(desc, name);
+            }
+        }
+        return name;
+    }
+}
@@ -7,6 +7,17 @@ println("Runtime version: $version")
 
 dependencies {
     implementation(annotationProcessor("io.github.llamalad7:mixinextras-common:0.3.6")!!)
+    // Provided by the loader embedding the definition
+    compileOnly(group = "org.sinytra.adapter", name = "definition")
+
+    testImplementation(group = "org.sinytra.adapter", name = "definition")
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.assertj:assertj-core:3.25.1")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 tasks.jar {
@@ -0,0 +1,114 @@
+package org.sinytra.adapter.runtime;
+
+import org.sinytra.adapter.patch.util.AOTManifest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+/**
+ * Mod jar patched ahead of time, stored in a cache directory under the key of the original jar.
+ * Loaders should serve mixin classes from the cache when present and fall back to live patching otherwise.
+ * Validating a cache only reads the manifest of the cached jar, the mod jar and patcher inputs are never read.
+ */
+public final class AOTPatchCache implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger("AOTPatchCache");
+
+    private final Path path;
+    private final JarFile jarFile;
+
+    private AOTPatchCache(Path path, JarFile jarFile) {
+        this.path = path;
+        this.jarFile = jarFile;
+    }
+
+    /**
+     * Selects the jar a mod is loaded from. A valid cached jar replaces the mod jar entirely, including its patched
+     * refmaps, mixin configs and generated mixin classes. Otherwise, the mod jar is returned and must be patched live.
+     *
+     * @param inputsKey key of the loader's patcher inputs, computed by {@link AOTManifest#inputsKey}
+     */
+    public static ModJar resolve(Path cacheDir, Path modJar, String dataVersion, String inputsKey) {
+        AOTPatchCache cache = open(cacheDir, modJar, dataVersion, inputsKey).orElse(null);
+        if (cache == null) {
+            return new ModJar(modJar, false);
+        }
+        try {
+            cache.close();
+        } catch (IOException e) {
+            LOGGER.error("Error closing AOT patch cache {}", cache.path, e);
+        }
+        LOGGER.debug("Using AOT patch cache {} for mod jar {}", cache.path, modJar);
+        return new ModJar(cache.path, true);
+    }
+
+    /**
+     * @param inputsKey key of the loader's patcher inputs, computed by {@link AOTManifest#inputsKey}
+     */
+    public static Optional<AOTPatchCache> open(Path cacheDir, Path modJar, String dataVersion, String inputsKey) {
+        try {
+            String sourceKey = AOTManifest.sourceKey(modJar);
+            Path path = cacheDir.resolve(AOTManifest.cacheFileName(sourceKey));
+            if (!Files.exists(path)) {
+                return Optional.empty();
+            }
+            JarFile jarFile = new JarFile(path.toFile());
+            Manifest manifest = jarFile.getManifest();
+            Attributes attributes = manifest != null ? manifest.getMainAttributes() : null;
+            if (attributes == null
+                || !sourceKey.equals(attributes.getValue(AOTManifest.SOURCE_KEY_ATTRIBUTE))
+                || !dataVersion.equals(attributes.getValue(AOTManifest.DATA_VERSION_ATTRIBUTE))
+                || !inputsKey.equals(attributes.getValue(AOTManifest.INPUTS_KEY_ATTRIBUTE))
+            ) {
+                LOGGER.info("Ignoring stale AOT patch cache {} for mod jar {}", path, modJar);
+                jarFile.close();
+                return Optional.empty();
+            }
+            return Optional.of(new AOTPatchCache(path, jarFile));
+        } catch (IOException e) {
+            LOGGER.error("Error reading AOT patch cache for mod jar {}", modJar, e);
+            return Optional.empty();
+        }
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    public Optional<byte[]> getClassBytes(String internalName) {
+        return getResource(internalName + ".class");
+    }
+
+    public Optional<byte[]> getResource(String path) {
+        ZipEntry entry = this.jarFile.getEntry(path);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try (InputStream is = this.jarFile.getInputStream(entry)) {
+            return Optional.of(is.readAllBytes());
+        } catch (IOException e) {
+            LOGGER.error("Error reading entry {} of AOT patch cache {}", path, this.jarFile.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.jarFile.close();
+    }
+
+    /**
+     * @param path    the jar to load the mod from
+     * @param patched whether the jar was patched ahead of time, in which case its mixins must not be patched again
+     */
+    public record ModJar(Path path, boolean patched) {}
+}
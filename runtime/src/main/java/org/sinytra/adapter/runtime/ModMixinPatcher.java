@@ -0,0 +1,52 @@
+package org.sinytra.adapter.runtime;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.PatchIndex;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+import org.sinytra.adapter.patch.util.AOTManifest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Patches the mixin classes of mods as they are loaded. Mods with a valid {@link AOTPatchCache} are loaded from the
+ * cached jar and skip live patching, all other mods fall back to patching each mixin class at runtime.
+ */
+public final class ModMixinPatcher {
+    private final PatchIndex patches;
+    private final Path cacheDir;
+    private final String dataVersion;
+    private final String inputsKey;
+
+    /**
+     * @param cacheDir  directory of AOT patched jars, or {@code null} to always patch at runtime
+     * @param inputsKey key of the patcher inputs, computed by {@link AOTManifest#inputsKey}
+     */
+    public ModMixinPatcher(List<? extends Patch> patches, Path cacheDir, String dataVersion, String inputsKey) {
+        this.patches = PatchIndex.create(patches);
+        this.cacheDir = cacheDir;
+        this.dataVersion = dataVersion;
+        this.inputsKey = inputsKey;
+    }
+
+    /**
+     * {@return the jar to load a mod from}
+     */
+    public AOTPatchCache.ModJar resolveModJar(Path modJar) {
+        if (this.cacheDir == null) {
+            return new AOTPatchCache.ModJar(modJar, false);
+        }
+        return AOTPatchCache.resolve(this.cacheDir, modJar, this.dataVersion, this.inputsKey);
+    }
+
+    /**
+     * Patches a mixin class loaded from a mod jar resolved by {@link #resolveModJar}.
+     */
+    public Patch.Result patchMixinClass(AOTPatchCache.ModJar modJar, ClassNode mixinClass, PatchEnvironment environment) {
+        if (modJar.patched()) {
+            return Patch.Result.PASS;
+        }
+        return this.patches.apply(mixinClass, environment);
+    }
+}
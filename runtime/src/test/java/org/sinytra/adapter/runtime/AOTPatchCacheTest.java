@@ -0,0 +1,184 @@
+package org.sinytra.adapter.runtime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.tree.ClassNode;
+import org.sinytra.adapter.patch.api.ClassTransform;
+import org.sinytra.adapter.patch.api.Patch;
+import org.sinytra.adapter.patch.api.PatchEnvironment;
+import org.sinytra.adapter.patch.api.RefmapHolder;
+import org.sinytra.adapter.patch.util.AOTManifest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AOTPatchCacheTest {
+    private static final String DATA_VERSION = "1.20.1-20240101.000000";
+
+    @TempDir
+    Path tempDir;
+    private Path cacheDir;
+    private Path modJar;
+    private Path patchData;
+    private String inputsKey;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.cacheDir = Files.createDirectory(this.tempDir.resolve("cache"));
+        this.modJar = writeJar(this.tempDir.resolve("mod.jar"), null, Map.of("com/example/Mixin.class", "original"));
+        this.patchData = Files.writeString(this.tempDir.resolve("patch_data.json"), "[]");
+        this.inputsKey = computeInputsKey();
+    }
+
+    @Test
+    void testCacheHit() throws IOException {
+        Path cached = writeCache(AOTManifest.sourceKey(this.modJar), DATA_VERSION, this.inputsKey);
+
+        assertThat(AOTPatchCache.resolve(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey)).isEqualTo(new AOTPatchCache.ModJar(cached, true));
+        Optional<AOTPatchCache> cache = AOTPatchCache.open(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey);
+        assertThat(cache).isPresent();
+        try (AOTPatchCache opened = cache.get()) {
+            assertThat(opened.getClassBytes("com/example/Mixin")).hasValueSatisfying(bytes -> assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("patched"));
+            assertThat(opened.getResource("missing.json")).isEmpty();
+        }
+    }
+
+    @Test
+    void testCacheMiss() {
+        assertThat(AOTPatchCache.resolve(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey)).isEqualTo(new AOTPatchCache.ModJar(this.modJar, false));
+        assertThat(AOTPatchCache.open(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey)).isEmpty();
+    }
+
+    @Test
+    void testStaleDataVersion() throws IOException {
+        writeCache(AOTManifest.sourceKey(this.modJar), "1.20.1-20230101.000000", this.inputsKey);
+        assertThat(AOTPatchCache.resolve(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey)).isEqualTo(new AOTPatchCache.ModJar(this.modJar, false));
+    }
+
+    @Test
+    void testStaleInputs() throws IOException {
+        writeCache(AOTManifest.sourceKey(this.modJar), DATA_VERSION, this.inputsKey);
+        // Updated patch data
+        Files.writeString(this.patchData, "[{}]");
+        String newInputsKey = computeInputsKey();
+        assertThat(newInputsKey).isNotEqualTo(this.inputsKey);
+        assertThat(AOTPatchCache.resolve(this.cacheDir, this.modJar, DATA_VERSION, newInputsKey)).isEqualTo(new AOTPatchCache.ModJar(this.modJar, false));
+    }
+
+    @Test
+    void testStaleModJar() throws IOException {
+        String sourceKey = AOTManifest.sourceKey(this.modJar);
+        writeCache(sourceKey, DATA_VERSION, this.inputsKey);
+        // The mod was updated in place
+        Files.setLastModifiedTime(this.modJar, FileTime.fromMillis(Files.getLastModifiedTime(this.modJar).toMillis() + 1000));
+        assertThat(AOTManifest.sourceKey(this.modJar)).isNotEqualTo(sourceKey);
+        assertThat(AOTPatchCache.resolve(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey)).isEqualTo(new AOTPatchCache.ModJar(this.modJar, false));
+    }
+
+    @Test
+    void testMismatchedSourceKey() throws IOException {
+        // Cached jar stored under the mod jar's key, but created for another mod
+        Path cached = writeCache(AOTManifest.sourceKey(this.modJar), DATA_VERSION, this.inputsKey);
+        writeJar(cached, manifest("other", DATA_VERSION, this.inputsKey), Map.of("com/example/Mixin.class", "patched"));
+        assertThat(AOTPatchCache.resolve(this.cacheDir, this.modJar, DATA_VERSION, this.inputsKey)).isEqualTo(new AOTPatchCache.ModJar(this.modJar, false));
+    }
+
+    @Test
+    void testPatcherFallsBackToRuntimePatching() throws IOException {
+        AtomicInteger applied = new AtomicInteger();
+        ClassTransform transform = (classNode, annotation, context) -> {
+            applied.incrementAndGet();
+            return Patch.Result.APPLY;
+        };
+        ModMixinPatcher patcher = new ModMixinPatcher(List.of(Patch.builder().transform(transform).build()), this.cacheDir, DATA_VERSION, this.inputsKey);
+        PatchEnvironment environment = PatchEnvironment.create(new RefmapHolder() {
+            @Override
+            public String remap(String cls, String reference) {
+                return reference;
+            }
+
+            @Override
+            public void copyEntries(String from, String to) {}
+        }, name -> Optional.empty(), null, 0);
+
+        AOTPatchCache.ModJar live = patcher.resolveModJar(this.modJar);
+        assertThat(live.patched()).isFalse();
+        assertThat(patcher.patchMixinClass(live, mixinClass(), environment)).isEqualTo(Patch.Result.APPLY);
+        assertThat(applied).hasValue(1);
+
+        writeCache(AOTManifest.sourceKey(this.modJar), DATA_VERSION, this.inputsKey);
+        AOTPatchCache.ModJar cached = patcher.resolveModJar(this.modJar);
+        assertThat(cached.patched()).isTrue();
+        // Mixins of AOT patched jars are not patched again
+        assertThat(patcher.patchMixinClass(cached, mixinClass(), environment)).isEqualTo(Patch.Result.PASS);
+        assertThat(applied).hasValue(1);
+
+        ModMixinPatcher uncached = new ModMixinPatcher(List.of(), null, DATA_VERSION, this.inputsKey);
+        assertThat(uncached.resolveModJar(this.modJar)).isEqualTo(new AOTPatchCache.ModJar(this.modJar, false));
+    }
+
+    private String computeInputsKey() throws IOException {
+        Path gameJar = this.tempDir.resolve("game.jar");
+        if (!Files.exists(gameJar)) {
+            writeJar(gameJar, null, Map.of());
+        }
+        Path lvtOffsets = this.tempDir.resolve("lvt_offsets.json");
+        if (!Files.exists(lvtOffsets)) {
+            Files.writeString(lvtOffsets, "{}");
+        }
+        return AOTManifest.inputsKey(gameJar, gameJar, this.patchData, lvtOffsets, null, List.of(), false);
+    }
+
+    private Path writeCache(String sourceKey, String dataVersion, String inputsKey) throws IOException {
+        Path path = this.cacheDir.resolve(AOTManifest.cacheFileName(sourceKey));
+        return writeJar(path, manifest(sourceKey, dataVersion, inputsKey), Map.of("com/example/Mixin.class", "patched"));
+    }
+
+    private static Manifest manifest(String sourceKey, String dataVersion, String inputsKey) {
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue(AOTManifest.SOURCE_KEY_ATTRIBUTE, sourceKey);
+        attributes.putValue(AOTManifest.DATA_VERSION_ATTRIBUTE, dataVersion);
+        attributes.putValue(AOTManifest.INPUTS_KEY_ATTRIBUTE, inputsKey);
+        return manifest;
+    }
+
+    private static Path writeJar(Path path, Manifest manifest, Map<String, String> entries) throws IOException {
+        try (OutputStream os = Files.newOutputStream(path); ZipOutputStream zos = new ZipOutputStream(os)) {
+            if (manifest != null) {
+                zos.putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+                manifest.write(zos);
+                zos.closeEntry();
+            }
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey()));
+                zos.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return path;
+    }
+
+    private static ClassNode mixinClass() {
+        ClassNode classNode = new ClassNode();
+        classNode.name = "com/example/Mixin";
+        return classNode;
+    }
+}
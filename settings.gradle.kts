@@ -18,5 +18,7 @@ pluginManagement {
 
 rootProject.name = "Adapter"
 
+includeBuild("definition")
 includeBuild("plugin")
+includeBuild("aot")
 include("runtime")
\ No newline at end of file